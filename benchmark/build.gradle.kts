@@ -0,0 +1,56 @@
+plugins {
+    java
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+val jmhVersion = "1.37"
+
+dependencies {
+    implementation(project(":spider-web-score-core"))
+    implementation("org.openjdk.jmh:jmh-core:$jmhVersion")
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+}
+
+/**
+ * Run all benchmarks with the GC profiler and write the results to build/reports/jmh/results.json
+ *
+ * ./gradlew :benchmark:jmh
+ * ./gradlew :benchmark:jmh -Pjmh.include=VertexBenchmark
+ */
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks"
+    dependsOn("classes")
+    mainClass.set("org.openjdk.jmh.Main")
+    classpath = sourceSets["main"].runtimeClasspath
+
+    val reportFile = file("$buildDir/reports/jmh/results.json")
+    doFirst { reportFile.parentFile.mkdirs() }
+    args(
+        if (project.hasProperty("jmh.include")) project.property("jmh.include").toString() else ".*",
+        "-prof", "gc",
+        "-rf", "json",
+        "-rff", reportFile.absolutePath
+    )
+}
+
+/**
+ * Time rendering for every axis/ring/size configuration and write the results to build/reports/render/report.csv,
+ * pixel correctness is checked by RenderGoldenTest in spider-web-score-view
+ *
+ * ./gradlew :benchmark:renderRegression
+ */
+tasks.register<JavaExec>("renderRegression") {
+    group = "benchmark"
+    description = "Records render timings for every configuration"
+    dependsOn("classes")
+    mainClass.set("me.panpf.swsv.benchmark.RenderRegression")
+    classpath = sourceSets["main"].runtimeClasspath
+
+    val reportFile = file("$buildDir/reports/render/report.csv")
+    args(reportFile.absolutePath)
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package me.panpf.swsv.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import me.panpf.swsv.core.RadarGeometry;
+
+/**
+ * 文案位置的计算（CircularLayout.onLayout）：旧版每次布局都调用三角函数 vs 查表
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LabelBenchmark {
+    @Param({"3", "5", "12", "24", "100", "1000"})
+    public int angleCount;
+
+    private final float labelWidth = 48;
+    private final float labelHeight = 20;
+    private final float spacing = 16;
+    private float[] positions;
+    private float[] position;
+    private float[] ringPoints;
+    private RadarGeometry geometry;
+
+    @Setup
+    public void setup() {
+        positions = new float[angleCount * 2];
+        position = new float[2];
+        ringPoints = new float[angleCount * 2];
+        geometry = new RadarGeometry();
+        geometry.update(angleCount, 1, 200, 200, 200);
+    }
+
+    @Benchmark
+    public float[] perCallTrig() {
+        LegacyGeometry.hierarchyPoints(angleCount, 200, 200, 200, ringPoints);
+        float averageAngle = 360 / angleCount;
+        float offsetAngle = averageAngle > 0 && angleCount % 2 == 0 ? averageAngle / 2 : 0;
+        for (int w = 0; w < angleCount; w++) {
+            float angle = offsetAngle + w * averageAngle;
+            RadarGeometry.computeLabelPosition(RadarGeometry.computeLocation(angle), ringPoints[w * 2], ringPoints[w * 2 + 1],
+                    labelWidth, labelHeight, spacing, position);
+            positions[w * 2] = position[0];
+            positions[w * 2 + 1] = position[1];
+        }
+        return positions;
+    }
+
+    @Benchmark
+    public float[] tableDriven() {
+        for (int w = 0; w < angleCount; w++) {
+            RadarGeometry.computeLabelPosition(RadarGeometry.computeLocation(geometry.getAxisAngle(w)),
+                    geometry.getHierarchyPointX(0, w), geometry.getHierarchyPointY(0, w),
+                    labelWidth, labelHeight, spacing, position);
+            positions[w * 2] = position[0];
+            positions[w * 2 + 1] = position[1];
+        }
+        return positions;
+    }
+}
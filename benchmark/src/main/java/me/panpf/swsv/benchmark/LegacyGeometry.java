@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package me.panpf.swsv.benchmark;
+
+/**
+ * 旧版SpiderWebScoreView、CircularLayout中每次绘制都调用Math.toRadians/sin/cos的计算方式，作为基准测试的对照组
+ */
+final class LegacyGeometry {
+    private LegacyGeometry() {
+    }
+
+    /**
+     * 按照旧版drawHierarchyByRadius的方式计算一层的顶点坐标
+     */
+    static void hierarchyPoints(int angleCount, float centerX, float centerY, float currentRadius, float[] outPoints) {
+        float nextAngle;
+        float nextRadians;
+        float averageAngle = 360 / angleCount;
+        float offsetAngle = averageAngle > 0 && angleCount % 2 == 0 ? averageAngle / 2 : 0;
+        int index = 0;
+        for (int position = 0; position < angleCount; position++) {
+            nextAngle = offsetAngle + (position * averageAngle);
+            nextRadians = (float) Math.toRadians(nextAngle);
+            outPoints[index++] = (float) (centerX + Math.sin(nextRadians) * currentRadius);
+            outPoints[index++] = (float) (centerY - Math.cos(nextRadians) * currentRadius);
+        }
+    }
+
+    /**
+     * 按照旧版drawScore的方式计算分数图形的顶点坐标
+     */
+    static void scorePoints(int angleCount, float centerX, float centerY, float radius, float[] scores, float maxScore, float[] outPoints) {
+        float nextAngle;
+        float nextRadians;
+        float currentRadius;
+        float averageAngle = 360 / angleCount;
+        float offsetAngle = averageAngle > 0 && angleCount % 2 == 0 ? averageAngle / 2 : 0;
+        int index = 0;
+        for (int position = 0; position < angleCount; position++) {
+            currentRadius = (scores[position] / maxScore) * radius;
+            nextAngle = offsetAngle + (position * averageAngle);
+            nextRadians = (float) Math.toRadians(nextAngle);
+            outPoints[index++] = (float) (centerX + Math.sin(nextRadians) * currentRadius);
+            outPoints[index++] = (float) (centerY - Math.cos(nextRadians) * currentRadius);
+        }
+    }
+}
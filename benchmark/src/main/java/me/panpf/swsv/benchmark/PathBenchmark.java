@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package me.panpf.swsv.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.geom.Path2D;
+import java.util.concurrent.TimeUnit;
+
+import me.panpf.swsv.core.RadarGeometry;
+
+/**
+ * 分数图形路径的构建：旧版每帧逐个调用三角函数 vs 查表
+ * <br>JVM上没有android.graphics.Path，这里用java.awt.geom.Path2D.Float代替，两者都是追加moveTo/lineTo，用来比较顶点计算部分的差异
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+    @Param({"3", "5", "12", "24", "100", "1000"})
+    public int angleCount;
+
+    private final float maxScore = 10f;
+    private float[] scores;
+    private float[] fractions;
+    private float[] points;
+    private RadarGeometry geometry;
+    private Path2D.Float path;
+
+    @Setup
+    public void setup() {
+        scores = new float[angleCount];
+        fractions = new float[angleCount];
+        for (int w = 0; w < angleCount; w++) {
+            scores[w] = (w * 7) % 10 + 1;
+            fractions[w] = scores[w] / maxScore;
+        }
+        points = new float[angleCount * 2];
+        geometry = new RadarGeometry();
+        geometry.update(angleCount, 5, 200, 200, 200);
+        path = new Path2D.Float(Path2D.WIND_NON_ZERO, angleCount + 1);
+    }
+
+    @Benchmark
+    public Path2D.Float perCallTrig() {
+        LegacyGeometry.scorePoints(angleCount, 200, 200, 200, scores, maxScore, points);
+        return buildPath();
+    }
+
+    @Benchmark
+    public Path2D.Float tableDriven() {
+        geometry.computeScorePoints(fractions, points);
+        return buildPath();
+    }
+
+    private Path2D.Float buildPath() {
+        path.reset();
+        path.moveTo(points[0], points[1]);
+        for (int index = 2, size = angleCount * 2; index < size; index += 2) {
+            path.lineTo(points[index], points[index + 1]);
+        }
+        path.closePath();
+        return path;
+    }
+}
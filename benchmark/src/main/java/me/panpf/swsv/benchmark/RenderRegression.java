@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package me.panpf.swsv.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import me.panpf.swsv.core.RadarGeometry;
+import me.panpf.swsv.core.RadarSvgWriter;
+import me.panpf.swsv.core.RadarStyle;
+
+/**
+ * 渲染耗时回归：按角的个数、层数以及尺寸的组合渲染蛛网评分图，记录每种组合的渲染耗时，用来对比修改前后的性能
+ * <br>JVM上没有android.graphics.Canvas，这里用RadarSvgWriter输出矢量图，它和SpiderWebRenderer共用RadarGeometry的顶点计算
+ * <br>绘制结果是否正确由spider-web-score-view中的RenderGoldenTest逐像素检查，这里只负责计时
+ * <br>用法：RenderRegression reportFile
+ */
+public class RenderRegression {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int[] ANGLE_COUNTS = {3, 5, 6, 12, 24, 100};
+    private static final int[] HIERARCHY_COUNTS = {1, 5, 10};
+    private static final int[] SIZES = {48, 200, 1080};
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURE_ITERATIONS = 50;
+
+    public static void main(String[] args) throws IOException {
+        if(args.length != 1){
+            System.err.println("Usage: RenderRegression reportFile");
+            System.exit(2);
+            return;
+        }
+        File reportFile = new File(args[0]);
+
+        StringBuilder report = new StringBuilder("configuration,svgNanos,geometryNanos\n");
+        for(int angleCount : ANGLE_COUNTS){
+            for(int hierarchyCount : HIERARCHY_COUNTS){
+                for(int size : SIZES){
+                    String name = angleCount + "x" + hierarchyCount + "@" + size;
+                    long svgNanos = timeRender(angleCount, hierarchyCount, size);
+                    long geometryNanos = timeGeometry(angleCount, hierarchyCount, size);
+                    report.append(name).append(',').append(svgNanos).append(',').append(geometryNanos).append('\n');
+                }
+            }
+        }
+
+        File reportDir = reportFile.getAbsoluteFile().getParentFile();
+        if(reportDir != null && !reportDir.exists() && !reportDir.mkdirs()){
+            throw new IOException("Can't create dir " + reportDir);
+        }
+        writeText(reportFile, report.toString());
+        System.out.println("Report: " + reportFile.getAbsolutePath());
+    }
+
+    /**
+     * 渲染一种组合，分数、文案都是由角的个数确定的固定值，保证每次的工作量都一样
+     */
+    private static void renderTo(Writer writer, int angleCount, int hierarchyCount, int size) throws IOException {
+        RadarStyle style = new RadarStyle.Builder().setHierarchyCount(hierarchyCount).setLineWidth(1f).setScoreStrokeWidth(2f).build();
+        float[] scores = new float[angleCount];
+        String[] labels = new String[angleCount];
+        for(int w = 0; w < angleCount; w++){
+            scores[w] = (w * 7) % 10 + 1;
+            labels[w] = "A" + w;
+        }
+
+        RadarSvgWriter svgWriter = new RadarSvgWriter(writer, style);
+        svgWriter.beginDocument(size, size);
+        svgWriter.writeChart(0, 0, size, size, 10f, scores, 0, angleCount, labels);
+        svgWriter.endDocument();
+    }
+
+    private static long timeRender(int angleCount, int hierarchyCount, int size) throws IOException {
+        NullWriter writer = new NullWriter();
+        for(int w = 0; w < WARMUP_ITERATIONS; w++){
+            renderTo(writer, angleCount, hierarchyCount, size);
+        }
+        long[] durations = new long[MEASURE_ITERATIONS];
+        for(int w = 0; w < MEASURE_ITERATIONS; w++){
+            long start = System.nanoTime();
+            renderTo(writer, angleCount, hierarchyCount, size);
+            durations[w] = System.nanoTime() - start;
+        }
+        return median(durations);
+    }
+
+    private static long timeGeometry(int angleCount, int hierarchyCount, int size) {
+        float radius = size / 2f;
+        long[] durations = new long[MEASURE_ITERATIONS];
+        for(int w = 0; w < WARMUP_ITERATIONS + MEASURE_ITERATIONS; w++){
+            long start = System.nanoTime();
+            new RadarGeometry().update(angleCount, hierarchyCount, radius, radius, radius);
+            if(w >= WARMUP_ITERATIONS){
+                durations[w - WARMUP_ITERATIONS] = System.nanoTime() - start;
+            }
+        }
+        return median(durations);
+    }
+
+    private static long median(long[] durations) {
+        Arrays.sort(durations);
+        return durations[durations.length / 2];
+    }
+
+    private static void writeText(File file, String text) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+        try {
+            writer.write(text);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * 计时的时候丢弃输出，只测量渲染本身
+     */
+    private static class NullWriter extends Writer {
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package me.panpf.swsv.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import me.panpf.swsv.core.RadarStatistics;
+
+/**
+ * 批量统计：面积、重心、均衡度以及两两相似度，当前线程 vs ForkJoinPool并行
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+    @Param({"100", "1000", "4000"})
+    public int chartCount;
+
+    @Param({"6", "24"})
+    public int axisCount;
+
+    private RadarStatistics statistics;
+    private float[] scores;
+    private float[] shapes;
+    private float[] similarities;
+
+    @Setup
+    public void setup() {
+        statistics = new RadarStatistics(axisCount, 10f);
+        scores = new float[chartCount * axisCount];
+        Random random = new Random(chartCount);
+        for (int w = 0; w < scores.length; w++) {
+            scores[w] = random.nextFloat() * 10f;
+        }
+        shapes = new float[chartCount * RadarStatistics.SHAPE_STRIDE];
+        similarities = new float[chartCount * chartCount];
+    }
+
+    @Benchmark
+    public float[] shapesSequential() {
+        statistics.computeShapes(scores, chartCount, shapes);
+        return shapes;
+    }
+
+    @Benchmark
+    public float[] shapesParallel() {
+        statistics.computeShapes(scores, chartCount, shapes, ForkJoinPool.commonPool());
+        return shapes;
+    }
+
+    @Benchmark
+    public float[] similaritiesSequential() {
+        statistics.computeSimilarities(scores, chartCount, similarities);
+        return similarities;
+    }
+
+    @Benchmark
+    public float[] similaritiesParallel() {
+        statistics.computeSimilarities(scores, chartCount, similarities, ForkJoinPool.commonPool());
+        return similarities;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package me.panpf.swsv.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import me.panpf.swsv.core.RadarGeometry;
+
+/**
+ * 蛛网所有层顶点的计算：旧版每帧逐个调用三角函数 vs 查表
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VertexBenchmark {
+    @Param({"3", "5", "12", "24", "100", "1000"})
+    public int angleCount;
+
+    @Param({"5", "10"})
+    public int hierarchyCount;
+
+    private final float centerX = 200;
+    private final float centerY = 200;
+    private final float radius = 200;
+
+    private float[] unitX;
+    private float[] unitY;
+    private float[] points;
+    private RadarGeometry geometry;
+
+    @Setup
+    public void setup() {
+        unitX = new float[angleCount];
+        unitY = new float[angleCount];
+        RadarGeometry.computeUnitVectors(angleCount, unitX, unitY);
+        points = new float[hierarchyCount * angleCount * 2];
+        geometry = new RadarGeometry();
+    }
+
+    /**
+     * 旧版drawAllHierarchy的方式，每一层都重新计算所有角的三角函数
+     */
+    @Benchmark
+    public float[] perCallTrig() {
+        float averageRadius = radius / hierarchyCount;
+        float[] ringPoints = points;
+        for (int hierarchy = 0; hierarchy < hierarchyCount; hierarchy++) {
+            LegacyGeometry.hierarchyPoints(angleCount, centerX, centerY, averageRadius * (hierarchy + 1), ringPoints);
+        }
+        return ringPoints;
+    }
+
+    /**
+     * 单位方向向量已缓存，只计算顶点坐标
+     */
+    @Benchmark
+    public float[] tableDriven() {
+        RadarGeometry.computeHierarchyPoints(unitX, unitY, angleCount, hierarchyCount, centerX, centerY, radius, points);
+        return points;
+    }
+
+    /**
+     * 缓存未命中，先计算单位方向向量再计算顶点坐标，相当于尺寸或角的个数变化时的开销
+     */
+    @Benchmark
+    public float[] tableDrivenRebuild() {
+        RadarGeometry.computeUnitVectors(angleCount, unitX, unitY);
+        RadarGeometry.computeHierarchyPoints(unitX, unitY, angleCount, hierarchyCount, centerX, centerY, radius, points);
+        return points;
+    }
+
+    /**
+     * 几何数据缓存命中时的开销，也就是每帧实际的开销
+     */
+    @Benchmark
+    public boolean cachedGeometryHit() {
+        return geometry.update(angleCount, hierarchyCount, centerX, centerY, radius);
+    }
+}
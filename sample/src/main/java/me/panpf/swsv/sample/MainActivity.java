@@ -50,18 +50,27 @@ public class MainActivity extends AppCompatActivity {
         setup(spiderWebScoreView5, circularLayout5, new Score(7.0f, R.drawable.vip_icon7), new Score(8.0f, R.drawable.vip_icon8), new Score(5.0f, R.drawable.vip_icon5), new Score(5.0f, R.drawable.vip_icon5), new Score(8.0f, R.drawable.vip_icon8), new Score(7.0f, R.drawable.vip_icon7));
     }
 
-    private void setup(SpiderWebScoreView spiderWebScoreView, CircularLayout circularLayout, Score... scores) {
+    private void setup(SpiderWebScoreView spiderWebScoreView, CircularLayout circularLayout, final Score... scores) {
         spiderWebScoreView.setScores(10f, assembleScoreArray(scores));
 
-        circularLayout.removeAllViews();
-        for (Score score : scores) {
-            TextView scoreTextView = (TextView) LayoutInflater.from(getBaseContext()).inflate(R.layout.score, circularLayout, false);
-            scoreTextView.setText(String.valueOf(score.score));
-            if (score.iconId != 0) {
+        circularLayout.bindLabels(new CircularLayout.LabelBinder<TextView>() {
+            @Override
+            public int getCount() {
+                return scores.length;
+            }
+
+            @Override
+            public TextView onCreateView(CircularLayout parent) {
+                return (TextView) LayoutInflater.from(parent.getContext()).inflate(R.layout.score, parent, false);
+            }
+
+            @Override
+            public void onBindView(TextView scoreTextView, int position) {
+                Score score = scores[position];
+                scoreTextView.setText(String.valueOf(score.score));
                 scoreTextView.setCompoundDrawablesWithIntrinsicBounds(0, 0, score.iconId, 0);
             }
-            circularLayout.addView(scoreTextView);
-        }
+        });
     }
 
     private float[] assembleScoreArray(Score... scores) {
@@ -1 +1 @@
-include(":sample", ":spider-web-score-view")
+include(":sample", ":spider-web-score-view", ":spider-web-score-core", ":benchmark")
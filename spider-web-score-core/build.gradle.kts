@@ -0,0 +1,30 @@
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    testImplementation("junit:junit:4.13.2")
+}
+
+/**
+ * publish config
+ */
+if (hasProperty("signing.keyId")    // configured in the ~/.gradle/gradle.properties file
+    && hasProperty("signing.password")    // configured in the ~/.gradle/gradle.properties file
+    && hasProperty("signing.secretKeyRingFile")    // configured in the ~/.gradle/gradle.properties file
+    && hasProperty("mavenCentralUsername")    // configured in the ~/.gradle/gradle.properties file
+    && hasProperty("mavenCentralPassword")    // configured in the ~/.gradle/gradle.properties file
+    && hasProperty("GROUP")    // configured in the rootProject/gradle.properties file
+    && hasProperty("POM_ARTIFACT_ID")    // configured in the project/gradle.properties file
+) {
+    apply { plugin("com.vanniktech.maven.publish") }
+
+    configure<com.vanniktech.maven.publish.MavenPublishPluginExtension> {
+        sonatypeHost = com.vanniktech.maven.publish.SonatypeHost.S01
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+/**
+ * 角特别多（几百上千个）时的抽稀计算，用于细节层次（LOD）绘制
+ * <br>相邻两个角在最外层上的距离小于给定的间距时，蛛网的线和层的顶点按固定的步长抽稀；分数图形则按同样的步长分桶，每个桶只保留比例最大和最小的顶点，这样峰值和谷值都不会丢失
+ */
+public class RadarDecimation {
+
+    private RadarDecimation() {
+    }
+
+    /**
+     * 计算抽稀的步长，保证抽稀后相邻两个角在最外层上的距离不小于minSpacing
+     * @param angleCount 角的个数
+     * @param radius 半径
+     * @param minSpacing 相邻两个角在最外层上的最小距离，单位像素
+     * @return 步长，1表示不需要抽稀
+     */
+    public static int computeAxisStep(int angleCount, float radius, float minSpacing) {
+        if(angleCount <= 0 || radius <= 0 || minSpacing <= 0){
+            return 1;
+        }
+
+        // 相邻两个角的顶点之间的弦长
+        double chord = 2 * radius * Math.sin(Math.PI / angleCount);
+        if(chord >= minSpacing){
+            return 1;
+        }
+        int step = (int) Math.ceil(minSpacing / chord);
+
+        // 至少保留3个角，否则就不是一个多边形了
+        return Math.max(1, Math.min(step, angleCount / 3));
+    }
+
+    /**
+     * 计算按步长抽稀后保留的角的个数
+     * @param angleCount 角的个数
+     * @param step 步长
+     */
+    public static int computeAxisCount(int angleCount, int step) {
+        return (angleCount + step - 1) / step;
+    }
+
+    /**
+     * 保留峰值的分数图形简化，将所有的角按步长分桶，每个桶只保留比例最大和最小的两个角，并且保持原来的顺序
+     * @param fractions 每个角的比例
+     * @param angleCount 角的个数
+     * @param step 步长，为1时保留所有的角
+     * @param outIndices 用来接收保留下来的角的位置，长度不能小于 computeAxisCount(angleCount, step) * 2
+     * @return 保留下来的角的个数
+     */
+    public static int simplifyFractions(float[] fractions, int angleCount, int step, int[] outIndices) {
+        if(step <= 1){
+            for(int position = 0; position < angleCount; position++){
+                outIndices[position] = position;
+            }
+            return angleCount;
+        }
+
+        int count = 0;
+        int minPosition;
+        int maxPosition;
+        for(int start = 0; start < angleCount; start += step){
+            minPosition = start;
+            maxPosition = start;
+            for(int position = start + 1, end = Math.min(start + step, angleCount); position < end; position++){
+                if(fractions[position] < fractions[minPosition]){
+                    minPosition = position;
+                }else if(fractions[position] > fractions[maxPosition]){
+                    maxPosition = position;
+                }
+            }
+
+            if(minPosition == maxPosition){
+                outIndices[count++] = minPosition;
+            }else if(minPosition < maxPosition){
+                outIndices[count++] = minPosition;
+                outIndices[count++] = maxPosition;
+            }else{
+                outIndices[count++] = maxPosition;
+                outIndices[count++] = minPosition;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,459 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+/**
+ * 蛛网（雷达）图形的几何计算，只依赖基本类型数组，不依赖Android，可以直接在JVM上测试和做基准测试
+ * <br>静态方法提供角度、层顶点、分数顶点以及文案位置的计算；实例则是一份几何数据缓存，保存每个角的单位方向向量以及每一层所有顶点的坐标，
+ * 只有在角的个数、层数或者中心点、半径发生变化时才会重新计算
+ * <br>角度从正北（12点钟方向）开始顺时针增加，坐标系和屏幕一致，Y轴向下
+ */
+public class RadarGeometry {
+    public static final int LOCATION_EAST = 1;
+    public static final int LOCATION_WEST = 2;
+    public static final int LOCATION_SOUTH = 3;
+    public static final int LOCATION_NORTH = 4;
+    public static final int LOCATION_EAST_NORTH = 5;
+    public static final int LOCATION_EAST_SOUTH = 6;
+    public static final int LOCATION_WEST_NORTH = 7;
+    public static final int LOCATION_WEST_SOUTH = 8;
+
+    private int angleCount;  // 角的个数
+    private int hierarchyCount;  // 层数
+    private float centerX;    // 中心点X坐标
+    private float centerY;    // 中心点Y坐标
+    private float radius; // 整个蛛网图的半径
+
+    private float averageAngle;  // 相邻两个角之间的角度
+    private float offsetAngle;   // 偏移角度，有助于让整个图形左右对称
+    private float[] unitX = new float[0];  // 每个角的单位方向向量的X分量，即sin(角度)
+    private float[] unitY = new float[0];  // 每个角的单位方向向量的Y分量，即-cos(角度)，因为屏幕坐标系的Y轴向下
+    private float[] hierarchyPoints = new float[0];  // 所有层的顶点坐标，按[层][角][x, y]排列
+    private boolean initialized;
+    private boolean frozen;  // 冻结之后不能再修改，用于在多个图形之间共享
+
+    /**
+     * 更新几何参数，只有参数发生变化时才会重新计算
+     * @return true：重新计算了
+     * @throws IllegalStateException 已经冻结了并且参数发生了变化
+     */
+    public boolean update(int angleCount, int hierarchyCount, float centerX, float centerY, float radius) {
+        if (isSame(angleCount, hierarchyCount, centerX, centerY, radius)) {
+            return false;
+        }
+        if (frozen) {
+            throw new IllegalStateException("RadarGeometry is frozen and shared, Can't be updated");
+        }
+
+        boolean angleChanged = !initialized || this.angleCount != angleCount;
+        this.angleCount = angleCount;
+        this.hierarchyCount = hierarchyCount;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+        this.initialized = true;
+
+        if (angleChanged) {
+            if (unitX.length != angleCount) {
+                unitX = new float[angleCount];
+                unitY = new float[angleCount];
+            }
+            averageAngle = computeAverageAngle(angleCount);
+            offsetAngle = computeOffsetAngle(angleCount);
+            computeUnitVectors(angleCount, unitX, unitY);
+        }
+
+        int size = hierarchyCount * angleCount * 2;
+        if (hierarchyPoints.length != size) {
+            hierarchyPoints = new float[size];
+        }
+        computeHierarchyPoints(unitX, unitY, angleCount, hierarchyCount, centerX, centerY, radius, hierarchyPoints);
+        return true;
+    }
+
+    /**
+     * 判断几何参数是否和给定的一致
+     */
+    public boolean isSame(int angleCount, int hierarchyCount, float centerX, float centerY, float radius) {
+        return initialized && this.angleCount == angleCount && this.hierarchyCount == hierarchyCount
+                && this.centerX == centerX && this.centerY == centerY && this.radius == radius;
+    }
+
+    /**
+     * 冻结，之后update()时参数发生变化会抛出异常，冻结后的实例是只读的，可以在多个图形和多个线程之间共享
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * 计算相邻两个角之间的角度
+     * @param angleCount 角的个数
+     */
+    public static float computeAverageAngle(int angleCount) {
+        return angleCount > 0 ? 360f / angleCount : 0;
+    }
+
+    /**
+     * 计算偏移角度，角的个数为偶数时偏移半个平均角度，让整个图形左右对称
+     * @param angleCount 角的个数
+     */
+    public static float computeOffsetAngle(int angleCount) {
+        float averageAngle = computeAverageAngle(angleCount);
+        return averageAngle > 0 && angleCount % 2 == 0 ? averageAngle / 2 : 0;
+    }
+
+    /**
+     * 计算指定角的角度
+     * @param angleCount 角的个数
+     * @param position 第几个角，从0开始
+     * @return 角度，范围[0, 360)
+     */
+    public static float computeAxisAngle(int angleCount, int position) {
+        return computeOffsetAngle(angleCount) + position * computeAverageAngle(angleCount);
+    }
+
+    /**
+     * 计算一个点相对于中心点的角度，和角的角度一样从正北开始顺时针增加
+     * @param dx 点的X坐标减去中心点的X坐标
+     * @param dy 点的Y坐标减去中心点的Y坐标
+     * @return 角度，范围[0, 360)
+     */
+    public static float computePointAngle(float dx, float dy) {
+        // 屏幕坐标系的Y轴向下，所以正北是-dy方向，顺时针是dx方向
+        float angle = (float) Math.toDegrees(Math.atan2(dx, -dy));
+        return angle < 0 ? angle + 360f : (angle >= 360f ? 0f : angle);
+    }
+
+    /**
+     * 计算一个点落在哪个角的扇区中，每个角的扇区是以这个角为中心、左右各半个平均角度的范围，和绘制时一样考虑了偶数个角时的偏移角度
+     * <br>只需要一次atan2，和角的个数无关
+     * @param angleCount 角的个数
+     * @param dx 点的X坐标减去中心点的X坐标
+     * @param dy 点的Y坐标减去中心点的Y坐标
+     * @return 第几个角，从0开始
+     */
+    public static int computeAxisPosition(int angleCount, float dx, float dy) {
+        float averageAngle = computeAverageAngle(angleCount);
+        float relativeAngle = computePointAngle(dx, dy) - computeOffsetAngle(angleCount);
+        int position = Math.round(relativeAngle / averageAngle) % angleCount;
+        return position < 0 ? position + angleCount : position;
+    }
+
+    /**
+     * 在指定的角以及它左右相邻的两个角中查找离给定点最近的顶点，因为最近的顶点一定在点所处的扇区附近，所以不需要遍历所有的顶点
+     * @param points 顶点坐标，按[角][x, y]排列
+     * @param angleCount 角的个数
+     * @param axisPosition 点所处扇区的角，参见computeAxisPosition(int, float, float)
+     * @param x 点的X坐标
+     * @param y 点的Y坐标
+     * @param maxDistance 最大距离，超过这个距离的顶点不算
+     * @return 最近的顶点是第几个角，没有找到时返回-1
+     */
+    public static int findNearestPoint(float[] points, int angleCount, int axisPosition, float x, float y, float maxDistance) {
+        int nearestPosition = -1;
+        float nearestDistanceSquared = maxDistance * maxDistance;
+        int position;
+        float distanceX;
+        float distanceY;
+        float distanceSquared;
+        for(int offset = -1; offset <= 1; offset++){
+            position = (axisPosition + offset + angleCount) % angleCount;
+            distanceX = points[position * 2] - x;
+            distanceY = points[position * 2 + 1] - y;
+            distanceSquared = distanceX * distanceX + distanceY * distanceY;
+            if(distanceSquared <= nearestDistanceSquared){
+                nearestDistanceSquared = distanceSquared;
+                nearestPosition = position;
+            }
+        }
+        return nearestPosition;
+    }
+
+    /**
+     * 计算每个角的单位方向向量
+     * @param angleCount 角的个数
+     * @param outUnitX 用来存放X分量（sin(角度)），长度不能小于angleCount
+     * @param outUnitY 用来存放Y分量（-cos(角度)），长度不能小于angleCount
+     */
+    public static void computeUnitVectors(int angleCount, float[] outUnitX, float[] outUnitY) {
+        float averageAngle = computeAverageAngle(angleCount);
+        float offsetAngle = computeOffsetAngle(angleCount);
+        double radians;
+        for (int position = 0; position < angleCount; position++) {
+            radians = Math.toRadians(offsetAngle + (position * averageAngle));
+            outUnitX[position] = (float) Math.sin(radians);
+            outUnitY[position] = (float) -Math.cos(radians);
+        }
+    }
+
+    /**
+     * 计算所有层的顶点坐标
+     * @param outPoints 按[层][角][x, y]排列，长度不能小于hierarchyCount * angleCount * 2
+     */
+    public static void computeHierarchyPoints(float[] unitX, float[] unitY, int angleCount, int hierarchyCount,
+                                              float centerX, float centerY, float radius, float[] outPoints) {
+        float averageRadius = hierarchyCount > 0 ? radius / hierarchyCount : 0;
+        float currentRadius;
+        int index = 0;
+        for (int hierarchy = 0; hierarchy < hierarchyCount; hierarchy++) {
+            currentRadius = averageRadius * (hierarchy + 1);
+            for (int position = 0; position < angleCount; position++) {
+                outPoints[index++] = centerX + unitX[position] * currentRadius;
+                outPoints[index++] = centerY + unitY[position] * currentRadius;
+            }
+        }
+    }
+
+    /**
+     * 计算分数图形的顶点坐标
+     * @param fractions 每个分数占最大分数的比例
+     * @param outPoints 按[角][x, y]排列，长度不能小于angleCount * 2
+     */
+    public static void computeScorePoints(float[] unitX, float[] unitY, int angleCount, float centerX, float centerY,
+                                          float radius, float[] fractions, float[] outPoints) {
+        float currentRadius;
+        int index = 0;
+        for (int position = 0; position < angleCount; position++) {
+            currentRadius = fractions[position] * radius;
+            outPoints[index++] = centerX + unitX[position] * currentRadius;
+            outPoints[index++] = centerY + unitY[position] * currentRadius;
+        }
+    }
+
+    /**
+     * 计算分数图形的顶点坐标，使用缓存的单位方向向量
+     * @param fractions 每个分数占最大分数的比例
+     * @param outPoints 按[角][x, y]排列，长度不能小于angleCount * 2
+     */
+    public void computeScorePoints(float[] fractions, float[] outPoints) {
+        computeScorePoints(unitX, unitY, angleCount, centerX, centerY, radius, fractions, outPoints);
+    }
+
+    /**
+     * 根据角度判断所处的方位，把一个圆分成了8个方位（东、南、西、北、西北、东北、西南、东南），不同的方位有不同的文案偏移方式
+     * @param angle 角度
+     * @return 方位
+     */
+    public static int computeLocation(float angle) {
+        if ((angle >= 337.5f && angle <= 360f) || (angle >= 0f && angle <= 22.5f)) {
+            return LOCATION_NORTH;
+        } else if (angle >= 22.5f && angle <= 67.5f) {
+            return LOCATION_EAST_NORTH;
+        } else if (angle >= 67.5f && angle <= 112.5f) {
+            return LOCATION_EAST;
+        } else if (angle >= 112.5f && angle <= 157.5) {
+            return LOCATION_EAST_SOUTH;
+        } else if (angle >= 157.5 && angle <= 202.5) {
+            return LOCATION_SOUTH;
+        } else if (angle >= 202.5 && angle <= 247.5) {
+            return LOCATION_WEST_SOUTH;
+        } else if (angle >= 247.5 && angle <= 292.5) {
+            return LOCATION_WEST;
+        } else if (angle >= 292.5 && angle <= 337.5) {
+            return LOCATION_WEST_NORTH;
+        }else{
+            throw new IllegalArgumentException("error angle " + angle);
+        }
+    }
+
+    /**
+     * 计算文案的左上角坐标，保证文案全部在圆圈之外，并且文案的中心点和其圆上的点连同圆心在一条直线上
+     * @param location 方位，参见computeLocation(float)
+     * @param pointX 文案对应的圆上的点的X坐标
+     * @param pointY 文案对应的圆上的点的Y坐标
+     * @param labelWidth 文案的宽
+     * @param labelHeight 文案的高
+     * @param spacing 文案与圆圈之间的间距
+     * @param outPosition 用来存放文案的左上角坐标，[left, top]
+     */
+    public static void computeLabelPosition(int location, float pointX, float pointY, float labelWidth, float labelHeight,
+                                            float spacing, float[] outPosition) {
+        float labelLeft = pointX;
+        float labelTop = pointY;
+        switch (location){
+            case LOCATION_NORTH :
+                labelLeft -= labelWidth / 2;
+                labelTop -= labelHeight;
+
+                labelTop -= spacing;
+                break;
+            case LOCATION_EAST_NORTH :
+                labelTop -= labelHeight / 2;
+
+                labelLeft += spacing;
+                labelTop -= spacing;
+                break;
+            case LOCATION_EAST :
+                labelTop -= labelHeight / 2;
+
+                labelLeft += spacing;
+                break;
+            case LOCATION_EAST_SOUTH :
+                labelLeft += spacing;
+                labelTop += spacing;
+                break;
+            case LOCATION_SOUTH :
+                labelLeft -= labelWidth / 2;
+
+                labelTop += spacing;
+                break;
+            case LOCATION_WEST_SOUTH :
+                labelLeft -= labelWidth;
+
+                labelLeft -= spacing;
+                labelTop += spacing;
+                break;
+            case LOCATION_WEST :
+                labelLeft -= labelWidth;
+                labelTop -= labelHeight / 2;
+
+                labelLeft -= spacing;
+                break;
+            case LOCATION_WEST_NORTH :
+                labelLeft -= labelWidth;
+                labelTop -= labelHeight / 2;
+
+                labelLeft -= spacing;
+                labelTop -= spacing;
+                break;
+        }
+        outPosition[0] = labelLeft;
+        outPosition[1] = labelTop;
+    }
+
+    /**
+     * 将旧图形的比例按角度重新采样到新的角上，用于角的个数发生变化时的动画起点
+     * @param source 旧的比例
+     * @param sourceCount 旧的角的个数
+     * @param target 新的比例
+     * @param targetCount 新的角的个数
+     */
+    public static void resampleFractions(float[] source, int sourceCount, float[] target, int targetCount) {
+        float sourceAverageAngle = computeAverageAngle(sourceCount);
+        float sourceOffsetAngle = computeOffsetAngle(sourceCount);
+        float targetAverageAngle = computeAverageAngle(targetCount);
+        float targetOffsetAngle = computeOffsetAngle(targetCount);
+
+        float sourcePosition;
+        int lower;
+        int upper;
+        float lowerFraction;
+        float weight;
+        for(int w = 0; w < targetCount; w++){
+            sourcePosition = (targetOffsetAngle + w * targetAverageAngle - sourceOffsetAngle) / sourceAverageAngle;
+            sourcePosition = sourcePosition % sourceCount;
+            if(sourcePosition < 0){
+                sourcePosition += sourceCount;
+            }
+            lower = (int) sourcePosition;
+            weight = sourcePosition - lower;
+            lower = lower % sourceCount;
+            upper = (lower + 1) % sourceCount;
+            lowerFraction = source[lower];
+            target[w] = lowerFraction + (source[upper] - lowerFraction) * weight;
+        }
+    }
+
+    /**
+     * 计算一个点落在哪个角的扇区中
+     * @param x 点的X坐标
+     * @param y 点的Y坐标
+     * @return 第几个角，还没有初始化时返回-1
+     */
+    public int findAxisPosition(float x, float y) {
+        if(!initialized || angleCount <= 0){
+            return -1;
+        }
+        return computeAxisPosition(angleCount, x - centerX, y - centerY);
+    }
+
+    /**
+     * 获取指定层的指定角的顶点X坐标
+     */
+    public float getHierarchyPointX(int hierarchy, int position) {
+        return hierarchyPoints[(hierarchy * angleCount + position) * 2];
+    }
+
+    /**
+     * 获取指定层的指定角的顶点Y坐标
+     */
+    public float getHierarchyPointY(int hierarchy, int position) {
+        return hierarchyPoints[(hierarchy * angleCount + position) * 2 + 1];
+    }
+
+    /**
+     * 根据到中心点的距离获取指定角上的点的X坐标
+     */
+    public float getPointX(int position, float distance) {
+        return centerX + unitX[position] * distance;
+    }
+
+    /**
+     * 根据到中心点的距离获取指定角上的点的Y坐标
+     */
+    public float getPointY(int position, float distance) {
+        return centerY + unitY[position] * distance;
+    }
+
+    /**
+     * 获取指定角的角度
+     */
+    public float getAxisAngle(int position) {
+        return offsetAngle + position * averageAngle;
+    }
+
+    public float getUnitX(int position) {
+        return unitX[position];
+    }
+
+    public float getUnitY(int position) {
+        return unitY[position];
+    }
+
+    public int getAngleCount() {
+        return angleCount;
+    }
+
+    public int getHierarchyCount() {
+        return hierarchyCount;
+    }
+
+    public float getCenterX() {
+        return centerX;
+    }
+
+    public float getCenterY() {
+        return centerY;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    public float getAverageAngle() {
+        return averageAngle;
+    }
+
+    public float getOffsetAngle() {
+        return offsetAngle;
+    }
+}
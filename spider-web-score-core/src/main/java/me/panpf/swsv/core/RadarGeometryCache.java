@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 进程内共享的几何数据缓存，按照角的个数、层数、中心点以及半径缓存冻结后的RadarGeometry，采用LRU策略淘汰
+ * <br>一屏有几百个尺寸、角的个数和层数都一样的图形时，它们共用同一份单位方向向量以及层顶点坐标，只需要计算一次
+ * <br>线程安全，返回的RadarGeometry已经冻结，只能读取
+ */
+public class RadarGeometryCache {
+    private static final RadarGeometryCache DEFAULT = new RadarGeometryCache(32);
+
+    private final LinkedHashMap<Key, RadarGeometry> map;
+    private int maxSize;
+    private int hitCount;
+    private int missCount;
+
+    /**
+     * @param maxSize 最多缓存多少份几何数据
+     */
+    public RadarGeometryCache(int maxSize) {
+        if(maxSize <= 0){
+            throw new IllegalArgumentException("maxSize Can not be less than or equal to 0");
+        }
+        this.maxSize = maxSize;
+        this.map = new LinkedHashMap<Key, RadarGeometry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, RadarGeometry> eldest) {
+                return size() > RadarGeometryCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取进程内默认的缓存，最多缓存32份几何数据
+     */
+    public static RadarGeometryCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 获取指定参数的几何数据，缓存中没有时计算一份并冻结后放入缓存
+     * <br>只有参数变化时才需要调用，参数和current一致时直接返回current，不会查找缓存
+     * @param current 当前使用的几何数据，可以为null
+     * @return 冻结的几何数据
+     */
+    public synchronized RadarGeometry obtain(RadarGeometry current, int angleCount, int hierarchyCount,
+                                             float centerX, float centerY, float radius) {
+        if(current != null && current.isFrozen() && current.isSame(angleCount, hierarchyCount, centerX, centerY, radius)){
+            return current;
+        }
+
+        Key key = new Key(angleCount, hierarchyCount, centerX, centerY, radius);
+        RadarGeometry geometry = map.get(key);
+        if(geometry != null){
+            hitCount++;
+            return geometry;
+        }
+
+        missCount++;
+        geometry = new RadarGeometry();
+        geometry.update(angleCount, hierarchyCount, centerX, centerY, radius);
+        geometry.freeze();
+        map.put(key, geometry);
+        return geometry;
+    }
+
+    /**
+     * 修改最多缓存多少份几何数据，变小时会立即淘汰最久没有使用的
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if(maxSize <= 0){
+            throw new IllegalArgumentException("maxSize Can not be less than or equal to 0");
+        }
+        this.maxSize = maxSize;
+        while(map.size() > maxSize){
+            map.remove(map.keySet().iterator().next());
+        }
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    private static final class Key {
+        private final int angleCount;
+        private final int hierarchyCount;
+        private final float centerX;
+        private final float centerY;
+        private final float radius;
+
+        private Key(int angleCount, int hierarchyCount, float centerX, float centerY, float radius) {
+            this.angleCount = angleCount;
+            this.hierarchyCount = hierarchyCount;
+            this.centerX = centerX;
+            this.centerY = centerY;
+            this.radius = radius;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key that = (Key) o;
+            return angleCount == that.angleCount
+                    && hierarchyCount == that.hierarchyCount
+                    && Float.compare(that.centerX, centerX) == 0
+                    && Float.compare(that.centerY, centerY) == 0
+                    && Float.compare(that.radius, radius) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = angleCount;
+            result = 31 * result + hierarchyCount;
+            result = 31 * result + Float.floatToIntBits(centerX);
+            result = 31 * result + Float.floatToIntBits(centerY);
+            result = 31 * result + Float.floatToIntBits(radius);
+            return result;
+        }
+    }
+}
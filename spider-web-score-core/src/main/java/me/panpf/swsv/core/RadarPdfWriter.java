@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 以流的方式把蛛网评分图输出为PDF，每一页的内容写完就直接写到OutputStream中，只会记录每个对象的偏移量，适合在服务端生成包含成千上万个图形的报表
+ * <br>通过beginPage()、writeChart(...)、endPage()手动分页，或者通过writeCharts(...)按网格自动分页，最后调用close()输出交叉引用表，在页面以外调用writeChart(...)会抛出IllegalStateException
+ * <br>文案使用PDF内置的Helvetica字体，没有嵌入字体，因此只支持Latin-1字符，中文等其它字符会输出为'?'，需要显示这些文案时请导出SVG（RadarSvgWriter）
+ */
+public class RadarPdfWriter extends RadarVectorWriter implements Closeable {
+    private static final int OBJECT_CATALOG = 1;
+    private static final int OBJECT_PAGES = 2;
+    private static final int OBJECT_RESOURCES = 3;
+
+    private final OutputStream out;
+    private final float pageWidth;
+    private final float pageHeight;
+    private long position;  // 已经写出的字节数，用来记录每个对象的偏移量
+    private long[] objectOffsets = new long[16];  // 每个对象的偏移量，按对象编号排列
+    private int objectCount = OBJECT_RESOURCES;   // 已经分配的对象编号
+    private int[] pageObjects = new int[16];  // 每一页的对象编号
+    private int pageCount;
+    private boolean[] usedFillAlphas = new boolean[256];  // 用到了哪些填充透明度，结束时统一输出到资源中
+    private boolean[] usedStrokeAlphas = new boolean[256];
+    private int pageContentObject;  // 当前页的内容流对象编号，为0时表示没有在输出页
+    private int pageLengthObject;   // 当前页的内容流长度对象编号，内容流写完才知道长度
+    private long pageContentStart;
+    private byte[] bytes = new byte[8192];
+    private boolean closed;
+
+    /**
+     * @param out 输出目标，close()时会被关闭
+     * @param style 样式
+     * @param pageWidth 每一页的宽，单位点（1/72英寸）
+     * @param pageHeight 每一页的高，单位点
+     */
+    public RadarPdfWriter(OutputStream out, RadarStyle style, float pageWidth, float pageHeight) throws IOException {
+        super(style);
+        if(out == null){
+            throw new IllegalArgumentException("out Can't be null");
+        }
+        this.out = out;
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        buffer.append("%PDF-1.4\n%âãÏÓ\n");
+        flushBuffer();
+    }
+
+    /**
+     * 开始新的一页，坐标原点在左上角，Y轴向下，和Android一致
+     */
+    public void beginPage() throws IOException {
+        if(closed){
+            throw new IllegalStateException("writer is closed");
+        }
+        if(pageContentObject != 0){
+            throw new IllegalStateException("endPage() must be called before beginPage()");
+        }
+        pageContentObject = allocateObject();
+        pageLengthObject = allocateObject();
+        beginObject(pageContentObject);
+        buffer.append("<< /Length ").append(pageLengthObject).append(" 0 R >>\nstream\n");
+        flushBuffer();
+        pageContentStart = position;
+
+        // 翻转Y轴，让坐标系和Android一致
+        buffer.append("1 0 0 -1 0 ");
+        appendNumber(buffer, pageHeight);
+        buffer.append(" cm\n");
+    }
+
+    /**
+     * 结束当前页
+     */
+    public void endPage() throws IOException {
+        if(pageContentObject == 0){
+            throw new IllegalStateException("beginPage() must be called before endPage()");
+        }
+        flushBuffer();
+        long length = position - pageContentStart;
+        buffer.append("\nendstream\nendobj\n");
+        beginObject(pageLengthObject);
+        buffer.append(length).append("\nendobj\n");
+
+        int pageObject = allocateObject();
+        beginObject(pageObject);
+        buffer.append("<< /Type /Page /Parent ").append(OBJECT_PAGES).append(" 0 R /Resources ").append(OBJECT_RESOURCES)
+                .append(" 0 R /MediaBox [0 0 ");
+        appendNumber(buffer, pageWidth);
+        buffer.append(' ');
+        appendNumber(buffer, pageHeight);
+        buffer.append("] /Contents ").append(pageContentObject).append(" 0 R >>\nendobj\n");
+        flushBuffer();
+
+        if(pageCount == pageObjects.length){
+            int[] newPageObjects = new int[pageObjects.length * 2];
+            System.arraycopy(pageObjects, 0, newPageObjects, 0, pageCount);
+            pageObjects = newPageObjects;
+        }
+        pageObjects[pageCount++] = pageObject;
+        pageContentObject = 0;
+    }
+
+    /**
+     * 按网格批量输出多个图形，一页放满之后自动换页，所有的分数存放在一个扁平的数组中，第i个图形的分数从i * count开始
+     * @param cellWidth 每个格子的宽
+     * @param cellHeight 每个格子的高
+     * @param columns 每页每行有多少个格子
+     * @param rows 每页有多少行
+     * @param maxScore 最大分数
+     * @param scores 所有图形的分数
+     * @param count 每个图形的分数的个数
+     * @param chartCount 图形的个数
+     * @param labels 每个角外面的文案，所有图形共用，为null时不输出文案
+     */
+    public void writeCharts(float cellWidth, float cellHeight, int columns, int rows, float maxScore,
+                            float[] scores, int count, int chartCount, String[] labels) throws IOException {
+        if(columns <= 0 || rows <= 0){
+            throw new IllegalArgumentException("columns and rows Can not be less than or equal to 0");
+        }
+        int chartsPerPage = columns * rows;
+        int cell;
+        for(int index = 0; index < chartCount; index++){
+            cell = index % chartsPerPage;
+            if(cell == 0){
+                if(pageContentObject != 0){
+                    endPage();
+                }
+                beginPage();
+            }
+            writeChart((cell % columns) * cellWidth, (cell / columns) * cellHeight, cellWidth, cellHeight,
+                    maxScore, scores, index * count, count, labels);
+        }
+        if(pageContentObject != 0){
+            endPage();
+        }
+    }
+
+    /**
+     * 输出资源、页面树、文档目录以及交叉引用表，并关闭OutputStream
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed){
+            return;
+        }
+        if(pageContentObject != 0){
+            endPage();
+        }
+
+        // 所有页面共用的资源
+        beginObject(OBJECT_RESOURCES);
+        buffer.append("<< /Font << /F1 << /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >> >>\n/ExtGState <<");
+        for(int alpha = 0; alpha < 256; alpha++){
+            if(usedFillAlphas[alpha]){
+                buffer.append(" /Fa").append(alpha).append(" << /ca ");
+                appendNumber(buffer, alpha / 255f);
+                buffer.append(" >>");
+            }
+            if(usedStrokeAlphas[alpha]){
+                buffer.append(" /Sa").append(alpha).append(" << /CA ");
+                appendNumber(buffer, alpha / 255f);
+                buffer.append(" >>");
+            }
+        }
+        buffer.append(" >> >>\nendobj\n");
+
+        beginObject(OBJECT_PAGES);
+        buffer.append("<< /Type /Pages /Count ").append(pageCount).append(" /Kids [");
+        for(int w = 0; w < pageCount; w++){
+            buffer.append(' ').append(pageObjects[w]).append(" 0 R");
+        }
+        buffer.append(" ] >>\nendobj\n");
+
+        beginObject(OBJECT_CATALOG);
+        buffer.append("<< /Type /Catalog /Pages ").append(OBJECT_PAGES).append(" 0 R >>\nendobj\n");
+        flushBuffer();
+
+        long xrefOffset = position;
+        buffer.append("xref\n0 ").append(objectCount + 1).append("\n0000000000 65535 f \n");
+        String offset;
+        for(int object = 1; object <= objectCount; object++){
+            offset = Long.toString(objectOffsets[object]);
+            for(int w = offset.length(); w < 10; w++){
+                buffer.append('0');
+            }
+            buffer.append(offset).append(" 00000 n \n");
+            if(buffer.length() >= 4096){
+                flushBuffer();
+            }
+        }
+        buffer.append("trailer\n<< /Size ").append(objectCount + 1).append(" /Root ").append(OBJECT_CATALOG)
+                .append(" 0 R >>\nstartxref\n").append(xrefOffset).append("\n%%EOF\n");
+        flushBuffer();
+        out.close();
+        closed = true;
+    }
+
+    @Override
+    protected void beginChart(float left, float top, float width, float height) {
+        // 页面以外的内容不属于任何内容流，写出去会破坏文件结构
+        if(pageContentObject == 0){
+            throw new IllegalStateException("beginPage() must be called before writeChart()");
+        }
+    }
+
+    @Override
+    protected void writePolygon(float[] points, int count, int fillColor, int strokeColor, float strokeWidth) {
+        boolean fill = alpha(fillColor) != 0;
+        boolean stroke = alpha(strokeColor) != 0;
+        if(!fill && !stroke){
+            return;
+        }
+
+        buffer.append("q\n");
+        if(fill){
+            appendColor(fillColor, true);
+        }
+        if(stroke){
+            appendColor(strokeColor, false);
+            appendNumber(buffer, strokeWidth);
+            buffer.append(" w\n");
+        }
+        for(int index = 0, size = count * 2; index < size; index += 2){
+            appendNumber(buffer, points[index]);
+            buffer.append(' ');
+            appendNumber(buffer, points[index + 1]);
+            buffer.append(index == 0 ? " m\n" : " l\n");
+        }
+        buffer.append(fill && stroke ? "b\n" : (fill ? "h f\n" : "s\n")).append("Q\n");
+    }
+
+    @Override
+    protected void writeLine(float startX, float startY, float stopX, float stopY, int color, float width) {
+        if(alpha(color) == 0){
+            return;
+        }
+        buffer.append("q\n");
+        appendColor(color, false);
+        appendNumber(buffer, width);
+        buffer.append(" w\n");
+        appendNumber(buffer, startX);
+        buffer.append(' ');
+        appendNumber(buffer, startY);
+        buffer.append(" m\n");
+        appendNumber(buffer, stopX);
+        buffer.append(' ');
+        appendNumber(buffer, stopY);
+        buffer.append(" l\nS\nQ\n");
+    }
+
+    @Override
+    protected void writeText(String text, float left, float top, float size, int color) {
+        buffer.append("q\n");
+        appendColor(color, true);
+        // 坐标系已经翻转过了，文字需要再翻转回来，基线大约在文字区域顶部往下0.8倍文字大小的位置
+        buffer.append("BT\n/F1 ");
+        appendNumber(buffer, size);
+        buffer.append(" Tf\n1 0 0 -1 ");
+        appendNumber(buffer, left);
+        buffer.append(' ');
+        appendNumber(buffer, top + size * 0.8f);
+        buffer.append(" Tm\n(");
+        char c;
+        for(int w = 0, length = text.length(); w < length; w++){
+            c = text.charAt(w);
+            if(c == '(' || c == ')' || c == '\\'){
+                buffer.append('\\').append(c);
+            }else if(c < 32 || c > 255){
+                buffer.append('?');
+            }else{
+                buffer.append(c);
+            }
+        }
+        buffer.append(") Tj\nET\nQ\n");
+    }
+
+    @Override
+    protected void flushBuffer() throws IOException {
+        // 所有内容都是Latin-1字符，直接取低8位
+        int length = buffer.length();
+        if(bytes.length < length){
+            bytes = new byte[length];
+        }
+        for(int w = 0; w < length; w++){
+            bytes[w] = (byte) buffer.charAt(w);
+        }
+        out.write(bytes, 0, length);
+        position += length;
+        buffer.setLength(0);
+    }
+
+    /**
+     * 输出颜色以及透明度
+     * @param fill true：填充颜色；false：描边颜色
+     */
+    private void appendColor(int color, boolean fill) {
+        appendNumber(buffer, ((color >> 16) & 0xFF) / 255f);
+        buffer.append(' ');
+        appendNumber(buffer, ((color >> 8) & 0xFF) / 255f);
+        buffer.append(' ');
+        appendNumber(buffer, (color & 0xFF) / 255f);
+        buffer.append(fill ? " rg\n" : " RG\n");
+
+        int alpha = alpha(color);
+        if(alpha != 0xFF){
+            if(fill){
+                usedFillAlphas[alpha] = true;
+                buffer.append("/Fa");
+            }else{
+                usedStrokeAlphas[alpha] = true;
+                buffer.append("/Sa");
+            }
+            buffer.append(alpha).append(" gs\n");
+        }
+    }
+
+    /**
+     * 分配一个新的对象编号
+     */
+    private int allocateObject() {
+        return ++objectCount;
+    }
+
+    /**
+     * 开始输出一个对象，先把缓冲写出，这样才能记录准确的偏移量
+     */
+    private void beginObject(int object) throws IOException {
+        flushBuffer();
+        if(object >= objectOffsets.length){
+            long[] newObjectOffsets = new long[Math.max(objectOffsets.length * 2, object + 1)];
+            System.arraycopy(objectOffsets, 0, newObjectOffsets, 0, objectOffsets.length);
+            objectOffsets = newObjectOffsets;
+        }
+        objectOffsets[object] = position;
+        buffer.append(object).append(" 0 obj\n");
+    }
+}
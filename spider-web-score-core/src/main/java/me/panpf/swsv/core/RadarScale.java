@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import java.util.Arrays;
+
+/**
+ * 不可变的分数刻度，每个角可以有自己的最小值、最大值以及换算方式，用于把量纲不同的分数（例如0~10、0~100、0~1）换算成每个角的比例
+ * <br>换算方式有三种：线性（SCALE_LINEAR）、对数（SCALE_LOG）以及百分位（SCALE_PERCENTILE，按分数在参考样本中的排名换算）
+ * <br>比例只在设置分数时计算一次，绘制时直接乘以缓存的单位方向向量即可
+ */
+public final class RadarScale {
+    /**
+     * 线性换算，比例 = (分数 - 最小值) / (最大值 - 最小值)
+     */
+    public static final int SCALE_LINEAR = 0;
+    /**
+     * 对数换算，比例 = ln(1 + 分数 - 最小值) / ln(1 + 最大值 - 最小值)，适合跨越几个数量级的分数，小于最小值的分数按最小值算
+     */
+    public static final int SCALE_LOG = 1;
+    /**
+     * 百分位换算，比例 = 参考样本中不大于分数的样本所占的比例，结果总是在[0, 1]之间，忽略最小值和最大值
+     */
+    public static final int SCALE_PERCENTILE = 2;
+
+    private final int axisCount;
+    private final float[] minValues;
+    private final float[] maxValues;
+    private final int[] modes;
+    private final float[][] percentileSamples;  // 每个角排好序的参考样本，只有百分位换算的角才有
+
+    private RadarScale(Builder builder) {
+        this.axisCount = builder.axisCount;
+        this.minValues = builder.minValues.clone();
+        this.maxValues = builder.maxValues.clone();
+        this.modes = builder.modes.clone();
+        this.percentileSamples = builder.percentileSamples.clone();
+    }
+
+    /**
+     * 获取角的个数，只能用于分数个数和角的个数一致的数据
+     */
+    public int getAxisCount() {
+        return axisCount;
+    }
+
+    public float getMinValue(int axis) {
+        return minValues[axis];
+    }
+
+    public float getMaxValue(int axis) {
+        return maxValues[axis];
+    }
+
+    public int getMode(int axis) {
+        return modes[axis];
+    }
+
+    /**
+     * 把一个角的分数换算成比例
+     * @param axis 角的位置
+     * @param score 分数
+     * @return 比例，线性换算时超出范围的分数会得到小于0或大于1的比例
+     */
+    public float computeFraction(int axis, float score) {
+        float min = minValues[axis];
+        switch (modes[axis]) {
+            case SCALE_LOG:
+                return (float) (Math.log1p(Math.max(score - min, 0)) / Math.log1p(maxValues[axis] - min));
+            case SCALE_PERCENTILE:
+                return computePercentile(percentileSamples[axis], score);
+            default:
+                return (score - min) / (maxValues[axis] - min);
+        }
+    }
+
+    /**
+     * 把所有角的分数换算成比例，不会创建任何对象
+     * @param scores 分数
+     * @param offset 第一个分数在数组中的位置，批量换算扁平数组中的多组分数时使用
+     * @param outFractions 用来接收比例，长度不能小于getAxisCount()
+     */
+    public void computeFractions(float[] scores, int offset, float[] outFractions) {
+        for(int axis = 0; axis < axisCount; axis++){
+            outFractions[axis] = computeFraction(axis, scores[offset + axis]);
+        }
+    }
+
+    /**
+     * 计算分数在排好序的样本中的百分位，也就是不大于分数的样本所占的比例
+     */
+    static float computePercentile(float[] sortedSamples, float score) {
+        int low = 0;
+        int high = sortedSamples.length;
+        // 找到第一个大于score的样本
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(sortedSamples[middle] <= score){
+                low = middle + 1;
+            }else{
+                high = middle;
+            }
+        }
+        return (float) low / sortedSamples.length;
+    }
+
+    /**
+     * 基于当前刻度创建一个Builder，用于修改部分角
+     */
+    public Builder newBuilder() {
+        return new Builder(this);
+    }
+
+    public static class Builder {
+        private final int axisCount;
+        private final float[] minValues;
+        private final float[] maxValues;
+        private final int[] modes;
+        private final float[][] percentileSamples;
+
+        /**
+         * 所有的角默认都是线性换算，范围是[0, 10]
+         * @param axisCount 角的个数
+         */
+        public Builder(int axisCount) {
+            if(axisCount <= 0){
+                throw new IllegalArgumentException("axisCount Can not be less than or equal to 0");
+            }
+            this.axisCount = axisCount;
+            this.minValues = new float[axisCount];
+            this.maxValues = new float[axisCount];
+            this.modes = new int[axisCount];
+            this.percentileSamples = new float[axisCount][];
+            Arrays.fill(maxValues, 10f);
+        }
+
+        private Builder(RadarScale scale) {
+            this.axisCount = scale.axisCount;
+            this.minValues = scale.minValues.clone();
+            this.maxValues = scale.maxValues.clone();
+            this.modes = scale.modes.clone();
+            this.percentileSamples = scale.percentileSamples.clone();
+        }
+
+        /**
+         * 设置所有角的范围
+         * @param minValue 最小值
+         * @param maxValue 最大值，必须大于最小值
+         */
+        public Builder setRange(float minValue, float maxValue) {
+            for(int axis = 0; axis < axisCount; axis++){
+                setAxisRange(axis, minValue, maxValue);
+            }
+            return this;
+        }
+
+        /**
+         * 设置一个角的范围
+         * @param axis 角的位置
+         * @param minValue 最小值
+         * @param maxValue 最大值，必须大于最小值
+         */
+        public Builder setAxisRange(int axis, float minValue, float maxValue) {
+            checkAxis(axis);
+            if(!(maxValue > minValue)){
+                throw new IllegalArgumentException("maxValue must be greater than minValue: " + minValue + ", " + maxValue);
+            }
+            minValues[axis] = minValue;
+            maxValues[axis] = maxValue;
+            return this;
+        }
+
+        /**
+         * 设置所有角的换算方式
+         * @param mode SCALE_LINEAR或SCALE_LOG，百分位换算需要参考样本，请使用setAxisPercentileSamples(int, float[])
+         */
+        public Builder setMode(int mode) {
+            for(int axis = 0; axis < axisCount; axis++){
+                setAxisMode(axis, mode);
+            }
+            return this;
+        }
+
+        /**
+         * 设置一个角的换算方式
+         * @param axis 角的位置
+         * @param mode SCALE_LINEAR或SCALE_LOG，百分位换算需要参考样本，请使用setAxisPercentileSamples(int, float[])
+         */
+        public Builder setAxisMode(int axis, int mode) {
+            checkAxis(axis);
+            if(mode != SCALE_LINEAR && mode != SCALE_LOG){
+                throw new IllegalArgumentException("mode must be SCALE_LINEAR or SCALE_LOG: " + mode);
+            }
+            modes[axis] = mode;
+            percentileSamples[axis] = null;
+            return this;
+        }
+
+        /**
+         * 让一个角按百分位换算
+         * @param axis 角的位置
+         * @param samples 参考样本，例如这个角在所有人中的分数，会拷贝一份并排序
+         */
+        public Builder setAxisPercentileSamples(int axis, float[] samples) {
+            checkAxis(axis);
+            if(samples == null || samples.length == 0){
+                throw new IllegalArgumentException("samples Can't be null or empty");
+            }
+            float[] sortedSamples = samples.clone();
+            Arrays.sort(sortedSamples);
+            modes[axis] = SCALE_PERCENTILE;
+            percentileSamples[axis] = sortedSamples;
+            return this;
+        }
+
+        private void checkAxis(int axis) {
+            if(axis < 0 || axis >= axisCount){
+                throw new IllegalArgumentException("axis out of range: " + axis);
+            }
+        }
+
+        public RadarScale build() {
+            return new RadarScale(this);
+        }
+    }
+}
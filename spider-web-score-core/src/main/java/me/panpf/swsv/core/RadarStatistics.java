@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 批量计算分数图形的统计数据：面积、重心、均衡度以及两两之间的相似度，用于对大量分数进行排序、聚类
+ * <br>使用和蛛网评分图完全一致的角的布局（RadarGeometry.computeUnitVectors(int, float[], float[])），坐标以中心点为原点、半径为1，Y轴向下，因此服务端和客户端算出来的结果一致
+ * <br>所有的分数存放在一个扁平的数组中，第i组分数从i * getAxisCount()开始；结果也输出到扁平的数组中，不会为每组分数创建对象
+ * <br>数据量大时可以传入ForkJoinPool并行计算（Android上需要5.0及以上）
+ */
+public class RadarStatistics {
+    /**
+     * computeShapes输出的每组结果占用的长度，按[面积, 重心X, 重心Y, 均衡度]排列
+     */
+    public static final int SHAPE_STRIDE = 4;
+    public static final int SHAPE_AREA = 0;
+    public static final int SHAPE_CENTROID_X = 1;
+    public static final int SHAPE_CENTROID_Y = 2;
+    public static final int SHAPE_BALANCE = 3;
+
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 512;  // 每个并行任务至少处理多少组（或多少行）
+
+    private final int axisCount;
+    private final float maxScore;
+    private final RadarScale scale;
+    private final float[] unitX;
+    private final float[] unitY;
+    private final double[] sectorCrosses;  // 相邻两个角的单位方向向量的叉积，也就是两倍的单位扇形三角形面积
+    private final double maxArea;  // 所有分数都是满分时的面积
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * 所有分数都除以最大分数换算成比例
+     * @param axisCount 角的个数
+     * @param maxScore 最大分数
+     */
+    public RadarStatistics(int axisCount, float maxScore) {
+        this(axisCount, maxScore, null);
+    }
+
+    /**
+     * 分数按分数刻度换算成比例，和SpiderWebScoreView.setScoreScale(RadarScale)的结果一致
+     * @param scale 分数刻度，角的个数就是刻度的角的个数
+     */
+    public RadarStatistics(RadarScale scale) {
+        this(scale != null ? scale.getAxisCount() : 0, 1f, scale);
+    }
+
+    private RadarStatistics(int axisCount, float maxScore, RadarScale scale) {
+        if(axisCount < 3){
+            throw new IllegalArgumentException("axisCount Can not be less than 3");
+        }
+        if(maxScore <= 0){
+            throw new IllegalArgumentException("maxScore Can not be less than or equal to 0");
+        }
+        this.axisCount = axisCount;
+        this.maxScore = maxScore;
+        this.scale = scale;
+
+        unitX = new float[axisCount];
+        unitY = new float[axisCount];
+        RadarGeometry.computeUnitVectors(axisCount, unitX, unitY);
+
+        sectorCrosses = new double[axisCount];
+        double crossSum = 0;
+        for(int axis = 0; axis < axisCount; axis++){
+            int next = axis + 1 == axisCount ? 0 : axis + 1;
+            sectorCrosses[axis] = (double) unitX[axis] * unitY[next] - (double) unitX[next] * unitY[axis];
+            crossSum += sectorCrosses[axis];
+        }
+        maxArea = crossSum / 2;
+    }
+
+    public int getAxisCount() {
+        return axisCount;
+    }
+
+    /**
+     * 获取所有分数都是满分时的面积，可以用来把面积换算成比例
+     */
+    public float getMaxArea() {
+        return (float) maxArea;
+    }
+
+    /**
+     * 设置每个并行任务至少处理多少组分数（计算相似度时是多少行），数据量小于这个值时不会拆分，默认为512
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if(parallelThreshold <= 0){
+            throw new IllegalArgumentException("parallelThreshold Can not be less than or equal to 0");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    private float computeFraction(int axis, float score) {
+        return scale != null ? scale.computeFraction(axis, score) : score / maxScore;
+    }
+
+    /**
+     * 在当前线程中计算每组分数的面积、重心以及均衡度
+     * <br>面积：分数图形的面积，半径为1，满分时为getMaxArea()
+     * <br>重心：分数图形的几何重心，以中心点为原点，面积为0时取所有顶点的平均值
+     * <br>均衡度：1 - 重心到中心点的距离 / 平均比例，范围[0, 1]，越接近1说明图形越居中，所有分数都一样时为1，所有分数都是0时也为1
+     * @param scores 所有的分数
+     * @param chartCount 分数的组数
+     * @param outShapes 用来接收结果，第i组的结果从i * SHAPE_STRIDE开始，长度不能小于chartCount * SHAPE_STRIDE
+     */
+    public void computeShapes(float[] scores, int chartCount, float[] outShapes) {
+        checkScores(scores, chartCount);
+        if(outShapes == null || outShapes.length < chartCount * SHAPE_STRIDE){
+            throw new IllegalArgumentException("outShapes Can't be null and outShapes.length Can not be less than chartCount * SHAPE_STRIDE");
+        }
+        computeShapes(scores, 0, chartCount, outShapes);
+    }
+
+    /**
+     * 在给定的ForkJoinPool中并行计算每组分数的面积、重心以及均衡度，结果和computeShapes(float[], int, float[])完全一致
+     * @param pool 执行计算的线程池，例如ForkJoinPool.commonPool()
+     */
+    public void computeShapes(float[] scores, int chartCount, float[] outShapes, ForkJoinPool pool) {
+        checkScores(scores, chartCount);
+        if(outShapes == null || outShapes.length < chartCount * SHAPE_STRIDE){
+            throw new IllegalArgumentException("outShapes Can't be null and outShapes.length Can not be less than chartCount * SHAPE_STRIDE");
+        }
+        if(pool == null){
+            throw new IllegalArgumentException("pool Can't be null");
+        }
+        pool.invoke(new ShapeTask(this, parallelThreshold, scores, 0, chartCount, outShapes));
+    }
+
+    /**
+     * 计算[start, end)组分数的面积、重心以及均衡度，所有的计算都用double累加，保证顺序执行和并行执行的结果一致
+     */
+    private void computeShapes(float[] scores, int start, int end, float[] outShapes) {
+        for(int chart = start; chart < end; chart++){
+            int offset = chart * axisCount;
+            double doubleArea = 0;  // 两倍的面积
+            double centroidX = 0;
+            double centroidY = 0;
+            double vertexX = 0;
+            double vertexY = 0;
+            double fractionSum = 0;
+
+            double fraction = computeFraction(0, scores[offset]);
+            double firstFraction = fraction;
+            double nextFraction;
+            double x = unitX[0] * fraction;
+            double y = unitY[0] * fraction;
+            double nextX;
+            double nextY;
+            double cross;
+            for(int axis = 0; axis < axisCount; axis++){
+                int next = axis + 1 == axisCount ? 0 : axis + 1;
+                nextFraction = next == 0 ? firstFraction : computeFraction(next, scores[offset + next]);
+                nextX = unitX[next] * nextFraction;
+                nextY = unitY[next] * nextFraction;
+
+                // 相邻两个顶点和中心点组成的三角形
+                cross = fraction * nextFraction * sectorCrosses[axis];
+                doubleArea += cross;
+                centroidX += (x + nextX) * cross;
+                centroidY += (y + nextY) * cross;
+                vertexX += x;
+                vertexY += y;
+                fractionSum += fraction;
+
+                fraction = nextFraction;
+                x = nextX;
+                y = nextY;
+            }
+
+            if(doubleArea > 1e-12){
+                centroidX /= 3 * doubleArea;
+                centroidY /= 3 * doubleArea;
+            }else{
+                centroidX = vertexX / axisCount;
+                centroidY = vertexY / axisCount;
+            }
+            double meanFraction = fractionSum / axisCount;
+            double balance = meanFraction > 0 ? 1 - Math.sqrt(centroidX * centroidX + centroidY * centroidY) / meanFraction : 1;
+
+            int outIndex = chart * SHAPE_STRIDE;
+            outShapes[outIndex + SHAPE_AREA] = (float) (doubleArea / 2);
+            outShapes[outIndex + SHAPE_CENTROID_X] = (float) centroidX;
+            outShapes[outIndex + SHAPE_CENTROID_Y] = (float) centroidY;
+            outShapes[outIndex + SHAPE_BALANCE] = (float) Math.max(0, Math.min(1, balance));
+        }
+    }
+
+    /**
+     * 在当前线程中计算两两之间的相似度
+     * <br>相似度近似于两个图形重叠部分的面积除以两个图形合并后的面积（按扇形逐个计算，每个扇形取两个图形在相邻两个角上较小和较大的比例），范围[0, 1]，两组分数的比例完全一样时为1
+     * @param scores 所有的分数
+     * @param chartCount 分数的组数
+     * @param outSimilarities 用来接收结果，第i组和第j组的相似度在i * chartCount + j，长度不能小于chartCount * chartCount
+     */
+    public void computeSimilarities(float[] scores, int chartCount, float[] outSimilarities) {
+        float[] fractions = prepareSimilarities(scores, chartCount, outSimilarities);
+        computeSimilarities(fractions, chartCount, 0, chartCount, outSimilarities);
+    }
+
+    /**
+     * 在给定的ForkJoinPool中并行计算两两之间的相似度，结果和computeSimilarities(float[], int, float[])完全一致
+     * @param pool 执行计算的线程池，例如ForkJoinPool.commonPool()
+     */
+    public void computeSimilarities(float[] scores, int chartCount, float[] outSimilarities, ForkJoinPool pool) {
+        if(pool == null){
+            throw new IllegalArgumentException("pool Can't be null");
+        }
+        float[] fractions = prepareSimilarities(scores, chartCount, outSimilarities);
+        pool.invoke(new SimilarityTask(this, parallelThreshold, fractions, chartCount, 0, chartCount, outSimilarities));
+    }
+
+    /**
+     * 检查参数并把所有的分数一次性换算成比例，避免在两两比较时重复换算
+     */
+    private float[] prepareSimilarities(float[] scores, int chartCount, float[] outSimilarities) {
+        checkScores(scores, chartCount);
+        if(outSimilarities == null || (long) outSimilarities.length < (long) chartCount * chartCount){
+            throw new IllegalArgumentException("outSimilarities Can't be null and outSimilarities.length Can not be less than chartCount * chartCount");
+        }
+        float[] fractions = new float[chartCount * axisCount];
+        for(int chart = 0; chart < chartCount; chart++){
+            int offset = chart * axisCount;
+            for(int axis = 0; axis < axisCount; axis++){
+                fractions[offset + axis] = computeFraction(axis, scores[offset + axis]);
+            }
+        }
+        return fractions;
+    }
+
+    /**
+     * 计算[startRow, endRow)行与所有组之间的相似度，只计算j >= i的部分，然后镜像到j < i
+     */
+    private void computeSimilarities(float[] fractions, int chartCount, int startRow, int endRow, float[] outSimilarities) {
+        for(int row = startRow; row < endRow; row++){
+            outSimilarities[row * chartCount + row] = 1f;
+            for(int column = row + 1; column < chartCount; column++){
+                float similarity = computeSimilarity(fractions, row * axisCount, fractions, column * axisCount);
+                outSimilarities[row * chartCount + column] = similarity;
+                outSimilarities[column * chartCount + row] = similarity;
+            }
+        }
+    }
+
+    /**
+     * 计算两组分数的相似度，规则见computeSimilarities(float[], int, float[])
+     * @param scores1 第一组分数
+     * @param offset1 第一组分数在数组中的位置
+     * @param scores2 第二组分数
+     * @param offset2 第二组分数在数组中的位置
+     */
+    public float computeScoreSimilarity(float[] scores1, int offset1, float[] scores2, int offset2) {
+        float[] fractions = new float[axisCount * 2];
+        for(int axis = 0; axis < axisCount; axis++){
+            fractions[axis] = computeFraction(axis, scores1[offset1 + axis]);
+            fractions[axisCount + axis] = computeFraction(axis, scores2[offset2 + axis]);
+        }
+        return computeSimilarity(fractions, 0, fractions, axisCount);
+    }
+
+    private float computeSimilarity(float[] fractions1, int offset1, float[] fractions2, int offset2) {
+        double intersection = 0;
+        double union = 0;
+        float a;
+        float b;
+        float nextA;
+        float nextB;
+        for(int axis = 0; axis < axisCount; axis++){
+            int next = axis + 1 == axisCount ? 0 : axis + 1;
+            a = Math.max(fractions1[offset1 + axis], 0);
+            b = Math.max(fractions2[offset2 + axis], 0);
+            nextA = Math.max(fractions1[offset1 + next], 0);
+            nextB = Math.max(fractions2[offset2 + next], 0);
+            intersection += (double) Math.min(a, b) * Math.min(nextA, nextB) * sectorCrosses[axis];
+            union += (double) Math.max(a, b) * Math.max(nextA, nextB) * sectorCrosses[axis];
+        }
+        return union > 0 ? (float) (intersection / union) : 1f;
+    }
+
+    private void checkScores(float[] scores, int chartCount) {
+        if(chartCount < 0){
+            throw new IllegalArgumentException("chartCount Can not be less than 0");
+        }
+        if(scores == null || (long) scores.length < (long) chartCount * axisCount){
+            throw new IllegalArgumentException("scores Can't be null and scores.length Can not be less than chartCount * axisCount");
+        }
+    }
+
+    /**
+     * 并行计算面积、重心以及均衡度，按组二分拆分
+     * <br>静态内部类，RadarStatistics和拆分阈值都显式传入，任务执行期间修改setParallelThreshold(int)不会影响已经开始的计算
+     */
+    private static class ShapeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient RadarStatistics statistics;  // 任务不会被序列化，只是RecursiveAction实现了Serializable
+        private final int threshold;
+        private final float[] scores;
+        private final int start;
+        private final int end;
+        private final float[] outShapes;
+
+        ShapeTask(RadarStatistics statistics, int threshold, float[] scores, int start, int end, float[] outShapes) {
+            this.statistics = statistics;
+            this.threshold = threshold;
+            this.scores = scores;
+            this.start = start;
+            this.end = end;
+            this.outShapes = outShapes;
+        }
+
+        @Override
+        protected void compute() {
+            if(end - start <= threshold){
+                statistics.computeShapes(scores, start, end, outShapes);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new ShapeTask(statistics, threshold, scores, start, middle, outShapes),
+                    new ShapeTask(statistics, threshold, scores, middle, end, outShapes));
+        }
+    }
+
+    /**
+     * 并行计算相似度，按行拆分，由于只计算上三角，靠前的行工作量更大，因此按工作量而不是行数二分
+     */
+    private static class SimilarityTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient RadarStatistics statistics;
+        private final int threshold;
+        private final float[] fractions;
+        private final int chartCount;
+        private final int startRow;
+        private final int endRow;
+        private final float[] outSimilarities;
+
+        SimilarityTask(RadarStatistics statistics, int threshold, float[] fractions, int chartCount, int startRow, int endRow,
+                       float[] outSimilarities) {
+            this.statistics = statistics;
+            this.threshold = threshold;
+            this.fractions = fractions;
+            this.chartCount = chartCount;
+            this.startRow = startRow;
+            this.endRow = endRow;
+            this.outSimilarities = outSimilarities;
+        }
+
+        @Override
+        protected void compute() {
+            if(endRow - startRow <= Math.max(threshold / 8, 1) || endRow - startRow < 2){
+                statistics.computeSimilarities(fractions, chartCount, startRow, endRow, outSimilarities);
+                return;
+            }
+
+            // 第row行要比较chartCount - row - 1次，找到让两边工作量大致相等的分割点
+            long totalWork = rowWork(startRow, endRow);
+            int middle = startRow + 1;
+            while(middle < endRow - 1 && rowWork(startRow, middle) * 2 < totalWork){
+                middle++;
+            }
+            invokeAll(new SimilarityTask(statistics, threshold, fractions, chartCount, startRow, middle, outSimilarities),
+                    new SimilarityTask(statistics, threshold, fractions, chartCount, middle, endRow, outSimilarities));
+        }
+
+        /**
+         * [fromRow, toRow)这些行一共要比较多少次
+         */
+        private long rowWork(int fromRow, int toRow) {
+            long first = chartCount - fromRow - 1;
+            long last = chartCount - toRow;
+            return (first + last) * (toRow - fromRow) / 2;
+        }
+    }
+}
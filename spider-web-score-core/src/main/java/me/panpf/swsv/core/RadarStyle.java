@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+/**
+ * 不可变的蛛网评分图样式，只包含基本类型，不依赖Android，用于在JVM上导出矢量图（SVG、PDF）
+ * <br>颜色都是ARGB格式的int，尺寸的单位和输出的坐标单位一致（SVG中是用户单位，PDF中是点）
+ */
+public final class RadarStyle {
+    private final int hierarchyCount;  // 整个蛛网分多少层
+    private final int lineColor; // 蛛网线条的颜色
+    private final float lineWidth; // 蛛网线条的宽度
+    private final int scoreColor; // 分数图形的颜色
+    private final int scoreStrokeColor; // 分数图形描边的颜色
+    private final float scoreStrokeWidth; // 分数图形描边的宽度
+    private final boolean disableScoreStroke; // 禁用分数图形的描边
+    private final float labelTextSize; // 文案的文字大小
+    private final int labelTextColor; // 文案的文字颜色
+    private final float labelSpacing; // 文案与蛛网之间的间距
+
+    private RadarStyle(Builder builder) {
+        this.hierarchyCount = builder.hierarchyCount;
+        this.lineColor = builder.lineColor;
+        this.lineWidth = builder.lineWidth;
+        this.scoreColor = builder.scoreColor;
+        this.scoreStrokeColor = builder.scoreStrokeColor;
+        this.scoreStrokeWidth = builder.scoreStrokeWidth;
+        this.disableScoreStroke = builder.disableScoreStroke;
+        this.labelTextSize = builder.labelTextSize;
+        this.labelTextColor = builder.labelTextColor;
+        this.labelSpacing = builder.labelSpacing;
+    }
+
+    public int getHierarchyCount() {
+        return hierarchyCount;
+    }
+
+    public int getLineColor() {
+        return lineColor;
+    }
+
+    public float getLineWidth() {
+        return lineWidth;
+    }
+
+    public int getScoreColor() {
+        return scoreColor;
+    }
+
+    public int getScoreStrokeColor() {
+        return scoreStrokeColor;
+    }
+
+    public float getScoreStrokeWidth() {
+        return scoreStrokeWidth;
+    }
+
+    public boolean isDisableScoreStroke() {
+        return disableScoreStroke;
+    }
+
+    public float getLabelTextSize() {
+        return labelTextSize;
+    }
+
+    public int getLabelTextColor() {
+        return labelTextColor;
+    }
+
+    public float getLabelSpacing() {
+        return labelSpacing;
+    }
+
+    /**
+     * 基于当前样式创建一个Builder，用于修改部分属性
+     */
+    public Builder newBuilder() {
+        return new Builder(this);
+    }
+
+    public static class Builder {
+        private int hierarchyCount = 5;
+        private int lineColor = 0xFF000000;
+        private float lineWidth = 1;
+        private int scoreColor = 0x80F65801;
+        private int scoreStrokeColor = 0xFFF65801;
+        private float scoreStrokeWidth = 1;
+        private boolean disableScoreStroke;
+        private float labelTextSize = 10;
+        private int labelTextColor = 0xFF000000;
+        private float labelSpacing = 8;
+
+        public Builder() {
+        }
+
+        private Builder(RadarStyle style) {
+            this.hierarchyCount = style.hierarchyCount;
+            this.lineColor = style.lineColor;
+            this.lineWidth = style.lineWidth;
+            this.scoreColor = style.scoreColor;
+            this.scoreStrokeColor = style.scoreStrokeColor;
+            this.scoreStrokeWidth = style.scoreStrokeWidth;
+            this.disableScoreStroke = style.disableScoreStroke;
+            this.labelTextSize = style.labelTextSize;
+            this.labelTextColor = style.labelTextColor;
+            this.labelSpacing = style.labelSpacing;
+        }
+
+        public Builder setHierarchyCount(int hierarchyCount) {
+            if(hierarchyCount <= 0){
+                throw new IllegalArgumentException("hierarchyCount Can not be less than or equal to 0");
+            }
+            this.hierarchyCount = hierarchyCount;
+            return this;
+        }
+
+        public Builder setLineColor(int lineColor) {
+            this.lineColor = lineColor;
+            return this;
+        }
+
+        public Builder setLineWidth(float lineWidth) {
+            this.lineWidth = lineWidth;
+            return this;
+        }
+
+        public Builder setScoreColor(int scoreColor) {
+            this.scoreColor = scoreColor;
+            return this;
+        }
+
+        public Builder setScoreStrokeColor(int scoreStrokeColor) {
+            this.scoreStrokeColor = scoreStrokeColor;
+            return this;
+        }
+
+        public Builder setScoreStrokeWidth(float scoreStrokeWidth) {
+            this.scoreStrokeWidth = scoreStrokeWidth;
+            return this;
+        }
+
+        public Builder setDisableScoreStroke(boolean disableScoreStroke) {
+            this.disableScoreStroke = disableScoreStroke;
+            return this;
+        }
+
+        public Builder setLabelTextSize(float labelTextSize) {
+            this.labelTextSize = labelTextSize;
+            return this;
+        }
+
+        public Builder setLabelTextColor(int labelTextColor) {
+            this.labelTextColor = labelTextColor;
+            return this;
+        }
+
+        public Builder setLabelSpacing(float labelSpacing) {
+            this.labelSpacing = labelSpacing;
+            return this;
+        }
+
+        public RadarStyle build() {
+            return new RadarStyle(this);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 以流的方式把蛛网评分图输出为SVG，所有内容直接写到Writer中，适合在服务端批量生成报表
+ * <br>先调用beginDocument(float, float)，然后通过writeChart(...)或writeCharts(...)输出任意多个图形，最后调用endDocument()
+ */
+public class RadarSvgWriter extends RadarVectorWriter {
+    private final Writer writer;
+
+    /**
+     * @param writer 输出目标，不会被关闭
+     * @param style 样式
+     */
+    public RadarSvgWriter(Writer writer, RadarStyle style) {
+        super(style);
+        if(writer == null){
+            throw new IllegalArgumentException("writer Can't be null");
+        }
+        this.writer = writer;
+    }
+
+    /**
+     * 开始输出SVG文档
+     * @param width 文档的宽
+     * @param height 文档的高
+     */
+    public void beginDocument(float width, float height) throws IOException {
+        buffer.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"");
+        appendNumber(buffer, width);
+        buffer.append("\" height=\"");
+        appendNumber(buffer, height);
+        buffer.append("\" viewBox=\"0 0 ");
+        appendNumber(buffer, width);
+        buffer.append(' ');
+        appendNumber(buffer, height);
+        buffer.append("\">\n");
+    }
+
+    /**
+     * 按网格批量输出多个图形，所有的分数存放在一个扁平的数组中，第i个图形的分数从i * count开始
+     * @param cellWidth 每个格子的宽
+     * @param cellHeight 每个格子的高
+     * @param columns 每行有多少个格子
+     * @param maxScore 最大分数
+     * @param scores 所有图形的分数
+     * @param count 每个图形的分数的个数
+     * @param chartCount 图形的个数
+     * @param labels 每个角外面的文案，所有图形共用，为null时不输出文案
+     */
+    public void writeCharts(float cellWidth, float cellHeight, int columns, float maxScore,
+                            float[] scores, int count, int chartCount, String[] labels) throws IOException {
+        if(columns <= 0){
+            throw new IllegalArgumentException("columns Can not be less than or equal to 0");
+        }
+        for(int index = 0; index < chartCount; index++){
+            writeChart((index % columns) * cellWidth, (index / columns) * cellHeight, cellWidth, cellHeight,
+                    maxScore, scores, index * count, count, labels);
+        }
+    }
+
+    /**
+     * 结束输出SVG文档并把所有内容写到Writer中
+     */
+    public void endDocument() throws IOException {
+        buffer.append("</svg>\n");
+        flushBuffer();
+        writer.flush();
+    }
+
+    @Override
+    protected void beginChart(float left, float top, float width, float height) {
+        buffer.append("<g>\n");
+    }
+
+    @Override
+    protected void endChart() {
+        buffer.append("</g>\n");
+    }
+
+    @Override
+    protected void writePolygon(float[] points, int count, int fillColor, int strokeColor, float strokeWidth) {
+        buffer.append("<polygon points=\"");
+        for(int index = 0, size = count * 2; index < size; index += 2){
+            if(index > 0){
+                buffer.append(' ');
+            }
+            appendNumber(buffer, points[index]);
+            buffer.append(',');
+            appendNumber(buffer, points[index + 1]);
+        }
+        buffer.append('"');
+        appendPaint(" fill", fillColor);
+        appendPaint(" stroke", strokeColor);
+        if(alpha(strokeColor) != 0){
+            buffer.append(" stroke-width=\"");
+            appendNumber(buffer, strokeWidth);
+            buffer.append('"');
+        }
+        buffer.append("/>\n");
+    }
+
+    @Override
+    protected void writeLine(float startX, float startY, float stopX, float stopY, int color, float width) {
+        buffer.append("<line x1=\"");
+        appendNumber(buffer, startX);
+        buffer.append("\" y1=\"");
+        appendNumber(buffer, startY);
+        buffer.append("\" x2=\"");
+        appendNumber(buffer, stopX);
+        buffer.append("\" y2=\"");
+        appendNumber(buffer, stopY);
+        buffer.append('"');
+        appendPaint(" stroke", color);
+        buffer.append(" stroke-width=\"");
+        appendNumber(buffer, width);
+        buffer.append("\"/>\n");
+    }
+
+    @Override
+    protected void writeText(String text, float left, float top, float size, int color) {
+        buffer.append("<text x=\"");
+        appendNumber(buffer, left);
+        buffer.append("\" y=\"");
+        appendNumber(buffer, top);
+        buffer.append("\" font-size=\"");
+        appendNumber(buffer, size);
+        buffer.append("\" dominant-baseline=\"text-before-edge\"");
+        appendPaint(" fill", color);
+        buffer.append('>');
+        appendEscaped(text);
+        buffer.append("</text>\n");
+    }
+
+    @Override
+    protected void flushBuffer() throws IOException {
+        writer.append(buffer);
+        buffer.setLength(0);
+    }
+
+    /**
+     * 输出颜色属性，透明度为0时输出none，不是完全不透明时再输出透明度属性
+     */
+    private void appendPaint(String name, int color) {
+        int alpha = alpha(color);
+        buffer.append(name).append("=\"");
+        if(alpha == 0){
+            buffer.append("none\"");
+            return;
+        }
+        buffer.append('#');
+        for(int shift = 20; shift >= 0; shift -= 4){
+            buffer.append(Character.forDigit((color >> shift) & 0xF, 16));
+        }
+        buffer.append('"');
+        if(alpha != 0xFF){
+            buffer.append(name).append("-opacity=\"");
+            appendNumber(buffer, alpha / 255f);
+            buffer.append('"');
+        }
+    }
+
+    /**
+     * 输出转义后的文字
+     */
+    private void appendEscaped(String text) {
+        char c;
+        for(int w = 0, length = text.length(); w < length; w++){
+            c = text.charAt(w);
+            switch (c){
+                case '<': buffer.append("&lt;"); break;
+                case '>': buffer.append("&gt;"); break;
+                case '&': buffer.append("&amp;"); break;
+                case '"': buffer.append("&quot;"); break;
+                default: buffer.append(c); break;
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import java.io.IOException;
+
+/**
+ * 矢量图导出的基类，负责计算几何数据并把蛛网、分数图形以及文案拆成多边形、线段和文字交给子类以流的方式输出，不会为每个图形创建对象
+ * <br>几何计算和SpiderWebRenderer使用同一个RadarGeometry，文案的摆放规则也一样，因此导出的图形和View上显示的一致
+ * <br>导出时没有字体度量，文案的宽度默认由DEFAULT_TEXT_MEASURER估算，需要精确摆放时通过setTextMeasurer(TextMeasurer)换成真正的字体度量
+ * <br>不是线程安全的，每个线程使用自己的实例
+ */
+public abstract class RadarVectorWriter {
+    private static final float LABEL_CHAR_WIDTH = 0.55f;  // 估算文案宽度时每个拉丁字符占文字大小的比例
+    private static final float LABEL_WIDE_CHAR_WIDTH = 1f;  // 估算文案宽度时每个中日韩等全角字符占文字大小的比例
+
+    /**
+     * 默认的文案宽度估算，拉丁字符按文字大小的0.55倍，中日韩等全角字符按一倍文字大小
+     */
+    public static final TextMeasurer DEFAULT_TEXT_MEASURER = new TextMeasurer() {
+        @Override
+        public float measureText(String text, float textSize) {
+            float width = 0;
+            for(int w = 0, length = text.length(); w < length; w++){
+                width += isWideChar(text.charAt(w)) ? LABEL_WIDE_CHAR_WIDTH : LABEL_CHAR_WIDTH;
+            }
+            return width * textSize;
+        }
+    };
+
+    protected final StringBuilder buffer = new StringBuilder(4096);   // 输出缓冲，超过一定长度时交给子类写出
+    private final RadarStyle style;
+    private final RadarGeometry geometry = new RadarGeometry();
+    private float[] fractions = new float[0];
+    private float[] points = new float[0];
+    private final float[] labelPosition = new float[2];
+    private TextMeasurer textMeasurer = DEFAULT_TEXT_MEASURER;
+
+    protected RadarVectorWriter(RadarStyle style) {
+        if(style == null){
+            throw new IllegalArgumentException("style Can't be null");
+        }
+        this.style = style;
+    }
+
+    public RadarStyle getStyle() {
+        return style;
+    }
+
+    /**
+     * 设置文案宽度的度量方式，文案的宽度决定了给文案留出多少空间以及文案的摆放位置
+     * @param textMeasurer 文案宽度的度量方式，为null时改回使用DEFAULT_TEXT_MEASURER
+     */
+    public void setTextMeasurer(TextMeasurer textMeasurer) {
+        this.textMeasurer = textMeasurer != null ? textMeasurer : DEFAULT_TEXT_MEASURER;
+    }
+
+    public TextMeasurer getTextMeasurer() {
+        return textMeasurer;
+    }
+
+    /**
+     * 在指定区域中输出一个蛛网评分图，图形居中，半径为宽高中较小值的一半，有文案时会给文案留出空间
+     * @param left 区域左边
+     * @param top 区域上边
+     * @param width 区域的宽
+     * @param height 区域的高
+     * @param maxScore 最大分数
+     * @param scores 分数
+     * @param offset 第一个分数在数组中的位置，配合扁平的分数数组批量输出
+     * @param count 分数的个数，也就是角的个数
+     * @param labels 每个角外面的文案，为null时不输出文案
+     */
+    public void writeChart(float left, float top, float width, float height, float maxScore,
+                           float[] scores, int offset, int count, String[] labels) throws IOException {
+        if(maxScore <= 0){
+            throw new IllegalArgumentException("maxScore Can not be less than or equal to 0");
+        }
+        if(count <= 2){
+            throw new IllegalArgumentException("count Can not be less than or equal to 2");
+        }
+        boolean hasLabels = labels != null && labels.length == count;
+
+        float centerX = left + width / 2;
+        float centerY = top + height / 2;
+        float radius = Math.min(width, height) / 2;
+        if(hasLabels){
+            float labelExtent = 0;
+            for(String label : labels){
+                labelExtent = Math.max(labelExtent, Math.max(estimateLabelWidth(label), style.getLabelTextSize()));
+            }
+            radius = Math.max(radius - labelExtent - style.getLabelSpacing(), 0);
+        }
+        int hierarchyCount = style.getHierarchyCount();
+        geometry.update(count, hierarchyCount, centerX, centerY, radius);
+        if(points.length < count * 2){
+            points = new float[count * 2];
+        }
+        if(fractions.length < count){
+            fractions = new float[count];
+        }
+
+        beginChart(left, top, width, height);
+
+        // 所有的层
+        float lineWidth = style.getLineWidth() > 0 ? style.getLineWidth() : 1;
+        for(int hierarchy = 0; hierarchy < hierarchyCount; hierarchy++){
+            for(int position = 0; position < count; position++){
+                points[position * 2] = geometry.getHierarchyPointX(hierarchy, position);
+                points[position * 2 + 1] = geometry.getHierarchyPointY(hierarchy, position);
+            }
+            writePolygon(points, count, 0, style.getLineColor(), lineWidth);
+        }
+
+        // 所有的线
+        int outermostHierarchy = hierarchyCount - 1;
+        for(int position = 0; position < count; position++){
+            writeLine(centerX, centerY, geometry.getHierarchyPointX(outermostHierarchy, position),
+                    geometry.getHierarchyPointY(outermostHierarchy, position), style.getLineColor(), lineWidth);
+        }
+
+        // 分数图形以及描边
+        for(int position = 0; position < count; position++){
+            fractions[position] = scores[offset + position] / maxScore;
+        }
+        geometry.computeScorePoints(fractions, points);
+        boolean stroke = !style.isDisableScoreStroke();
+        writePolygon(points, count, style.getScoreColor(), stroke ? style.getScoreStrokeColor() : 0,
+                stroke && style.getScoreStrokeWidth() > 0 ? style.getScoreStrokeWidth() : 1);
+
+        // 文案
+        if(hasLabels){
+            float labelTextSize = style.getLabelTextSize();
+            for(int position = 0; position < count; position++){
+                if(labels[position] == null){
+                    continue;
+                }
+                RadarGeometry.computeLabelPosition(RadarGeometry.computeLocation(geometry.getAxisAngle(position)),
+                        geometry.getPointX(position, radius), geometry.getPointY(position, radius),
+                        estimateLabelWidth(labels[position]), labelTextSize, style.getLabelSpacing(), labelPosition);
+                writeText(labels[position], labelPosition[0], labelPosition[1], labelTextSize, style.getLabelTextColor());
+            }
+        }
+
+        endChart();
+        if(buffer.length() >= 4096){
+            flushBuffer();
+        }
+    }
+
+    /**
+     * 计算文案的宽度
+     */
+    private float estimateLabelWidth(String label) {
+        return label != null ? textMeasurer.measureText(label, style.getLabelTextSize()) : 0;
+    }
+
+    /**
+     * 判断是否是中日韩文字、韩文字母以及全角符号等占一个文字大小宽度的字符
+     */
+    private static boolean isWideChar(char c) {
+        return (c >= 0x1100 && c <= 0x115F)
+                || (c >= 0x2E80 && c <= 0xA4CF)
+                || (c >= 0xAC00 && c <= 0xD7A3)
+                || (c >= 0xF900 && c <= 0xFAFF)
+                || (c >= 0xFE30 && c <= 0xFE4F)
+                || (c >= 0xFF00 && c <= 0xFF60)
+                || (c >= 0xFFE0 && c <= 0xFFE6);
+    }
+
+    /**
+     * 开始输出一个图形
+     */
+    protected void beginChart(float left, float top, float width, float height) throws IOException {
+    }
+
+    /**
+     * 结束输出一个图形
+     */
+    protected void endChart() throws IOException {
+    }
+
+    /**
+     * 输出一个闭合的多边形
+     * @param points 顶点坐标，按[角][x, y]排列
+     * @param count 顶点的个数
+     * @param fillColor 填充颜色，透明度为0时不填充
+     * @param strokeColor 描边颜色，透明度为0时不描边
+     * @param strokeWidth 描边宽度
+     */
+    protected abstract void writePolygon(float[] points, int count, int fillColor, int strokeColor, float strokeWidth) throws IOException;
+
+    /**
+     * 输出一条线段
+     */
+    protected abstract void writeLine(float startX, float startY, float stopX, float stopY, int color, float width) throws IOException;
+
+    /**
+     * 输出一段文字
+     * @param text 文字
+     * @param left 文字区域的左边
+     * @param top 文字区域的上边
+     * @param size 文字大小
+     * @param color 文字颜色
+     */
+    protected abstract void writeText(String text, float left, float top, float size, int color) throws IOException;
+
+    /**
+     * 把缓冲中的内容写出并清空缓冲
+     */
+    protected abstract void flushBuffer() throws IOException;
+
+    /**
+     * 输出数字，最多保留两位小数，不依赖Locale也不会创建临时字符串
+     */
+    protected static void appendNumber(StringBuilder builder, float value) {
+        if(Float.isNaN(value) || Float.isInfinite(value)){
+            builder.append('0');
+            return;
+        }
+
+        long scaled = Math.round(value * 100.0);
+        if(scaled < 0){
+            builder.append('-');
+            scaled = -scaled;
+        }
+        builder.append(scaled / 100);
+        long decimal = scaled % 100;
+        if(decimal != 0){
+            builder.append('.');
+            if(decimal < 10){
+                builder.append('0').append(decimal);
+            }else{
+                builder.append(decimal % 10 == 0 ? decimal / 10 : decimal);
+            }
+        }
+    }
+
+    /**
+     * 获取颜色的透明度，范围[0, 255]
+     */
+    protected static int alpha(int color) {
+        return color >>> 24;
+    }
+
+    /**
+     * 文案宽度的度量方式，例如在服务端用java.awt.FontMetrics按导出时实际使用的字体度量
+     */
+    public interface TextMeasurer {
+        /**
+         * @param text 文案
+         * @param textSize 文字大小
+         * @return 文案的宽度
+         */
+        float measureText(String text, float textSize);
+    }
+}
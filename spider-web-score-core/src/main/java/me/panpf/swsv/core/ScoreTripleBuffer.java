@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 无锁的分数三重缓冲，一个生产者线程不停地发布分数快照，一个消费者线程（通常是主线程）每次只取最新的一份完整快照，中间的快照会被直接丢弃
+ * <br>三个缓冲区在创建时就分配好了，生产者写后台缓冲区，发布时和中间缓冲区交换；消费者获取时把前台缓冲区和中间缓冲区交换，两边都不会创建对象也不会阻塞
+ * <br>只支持一个生产者线程和一个消费者线程
+ */
+public class ScoreTripleBuffer {
+    private static final int INDEX_MASK = 0x3;
+    private static final int FLAG_FRESH = 0x4;  // 中间缓冲区中有消费者还没有取走的新快照
+
+    private final float[][] buffers;
+    private final int[] counts = new int[3];
+    private final float[] maxScores = new float[3];
+    private final AtomicInteger middle = new AtomicInteger(1);  // 中间缓冲区的位置以及FLAG_FRESH
+    private int backIndex = 0;    // 只有生产者线程访问
+    private int frontIndex = 2;   // 只有消费者线程访问
+
+    /**
+     * @param capacity 每份快照最多有多少个分数
+     */
+    public ScoreTripleBuffer(int capacity) {
+        if(capacity <= 0){
+            throw new IllegalArgumentException("capacity Can not be less than or equal to 0");
+        }
+        buffers = new float[3][capacity];
+    }
+
+    public int getCapacity() {
+        return buffers[0].length;
+    }
+
+    /**
+     * 获取后台缓冲区，生产者直接把分数写到这个数组中，然后调用publish(float, int)发布，只能在生产者线程调用
+     */
+    public float[] getBackBuffer() {
+        return buffers[backIndex];
+    }
+
+    /**
+     * 发布后台缓冲区中的分数，之后后台缓冲区会换成另外一个数组，因此需要重新调用getBackBuffer()获取，只能在生产者线程调用
+     * @param maxScore 最大分数，必须大于0
+     * @param count 分数的个数
+     */
+    public void publish(float maxScore, int count) {
+        checkMaxScore(maxScore);
+        if(count < 0 || count > buffers[backIndex].length){
+            throw new IllegalArgumentException("count out of range: " + count);
+        }
+        counts[backIndex] = count;
+        maxScores[backIndex] = maxScore;
+        // AtomicInteger的写入保证了上面对缓冲区的写入对消费者可见
+        backIndex = middle.getAndSet(backIndex | FLAG_FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * 把分数拷贝到后台缓冲区并发布，只能在生产者线程调用
+     * @param maxScore 最大分数，必须大于0
+     * @param scores 分数
+     * @param count 分数的个数
+     */
+    public void publish(float maxScore, float[] scores, int count) {
+        checkMaxScore(maxScore);
+        if(count < 0 || count > buffers[backIndex].length){
+            throw new IllegalArgumentException("count out of range: " + count);
+        }
+        System.arraycopy(scores, 0, buffers[backIndex], 0, count);
+        publish(maxScore, count);
+    }
+
+    /**
+     * 在生产者线程检查最大分数，无效的快照一旦发布，消费者绘制时才会发现，那时已经无法定位到出错的调用方了
+     */
+    private static void checkMaxScore(float maxScore) {
+        // 用!(maxScore > 0)同时排除NaN
+        if(!(maxScore > 0)){
+            throw new IllegalArgumentException("maxScore Can not be less than or equal to 0: " + maxScore);
+        }
+    }
+
+    /**
+     * 是否有消费者还没有取走的新快照，任意线程都可以调用
+     */
+    public boolean hasFresh() {
+        return (middle.get() & FLAG_FRESH) != 0;
+    }
+
+    /**
+     * 取走最新的一份快照作为前台缓冲区，之后通过getFront()等方法读取，只能在消费者线程调用
+     * @return false：自上次获取之后没有发布新的快照，前台缓冲区不变
+     */
+    public boolean acquire() {
+        if((middle.get() & FLAG_FRESH) == 0){
+            return false;
+        }
+        frontIndex = middle.getAndSet(frontIndex) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * 获取前台缓冲区中的分数，只能在消费者线程调用，数组的长度可能大于分数的个数，以getFrontCount()为准
+     */
+    public float[] getFront() {
+        return buffers[frontIndex];
+    }
+
+    /**
+     * 获取前台缓冲区中分数的个数，还没有获取过快照时为0
+     */
+    public int getFrontCount() {
+        return counts[frontIndex];
+    }
+
+    /**
+     * 获取前台缓冲区的最大分数
+     */
+    public float getFrontMaxScore() {
+        return maxScores[frontIndex];
+    }
+}
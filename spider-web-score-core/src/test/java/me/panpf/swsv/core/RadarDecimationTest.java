@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RadarDecimationTest {
+
+    @Test
+    public void testComputeAxisStepWithoutDecimation() {
+        assertEquals(1, RadarDecimation.computeAxisStep(6, 100, 4));
+        // 参数无效时不抽稀
+        assertEquals(1, RadarDecimation.computeAxisStep(0, 100, 4));
+        assertEquals(1, RadarDecimation.computeAxisStep(1000, 0, 4));
+        assertEquals(1, RadarDecimation.computeAxisStep(1000, 100, 0));
+    }
+
+    @Test
+    public void testComputeAxisStepKeepsMinSpacing() {
+        int step = RadarDecimation.computeAxisStep(1000, 100, 4);
+        assertEquals(7, step);
+
+        // 抽稀后相邻两个角的弦长不小于最小间距
+        int axisCount = RadarDecimation.computeAxisCount(1000, step);
+        assertEquals(143, axisCount);
+        double chord = 2 * 100 * Math.sin(Math.PI * step / 1000);
+        assertTrue(chord >= 4);
+    }
+
+    @Test
+    public void testComputeAxisStepKeepsPolygon() {
+        // 半径太小时步长会被限制在 angleCount / 3，至少保留3个角
+        int step = RadarDecimation.computeAxisStep(9, 1, 100);
+        assertEquals(3, step);
+        assertEquals(3, RadarDecimation.computeAxisCount(9, step));
+
+        assertEquals(1, RadarDecimation.computeAxisStep(5, 1, 100));
+    }
+
+    @Test
+    public void testSimplifyFractionsIdentity() {
+        float[] fractions = {0.1f, 0.9f, 0.5f, 0.3f};
+        int[] indices = new int[4];
+        assertEquals(4, RadarDecimation.simplifyFractions(fractions, 4, 1, indices));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, indices);
+    }
+
+    @Test
+    public void testSimplifyFractionsKeepsPeaksInOrder() {
+        float[] fractions = {
+                0.5f, 0.9f, 0.1f,  // 最大值在最小值前面
+                0.2f, 0.2f, 0.2f,  // 都一样，只保留一个
+                0.8f, 0.3f, 0.4f,  // 第一个就是最大值
+                0.0f};             // 最后一个桶不满
+        int[] indices = new int[RadarDecimation.computeAxisCount(fractions.length, 3) * 2];
+        int count = RadarDecimation.simplifyFractions(fractions, fractions.length, 3, indices);
+        assertEquals(6, count);
+        assertArrayEquals(new int[]{1, 2, 3, 6, 7, 9}, Arrays.copyOf(indices, count));
+    }
+}
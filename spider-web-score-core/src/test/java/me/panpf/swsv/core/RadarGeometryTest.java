@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RadarGeometryTest {
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void testAnglesForCountsThatDoNotDivide360() {
+        for (int angleCount : new int[]{7, 11, 13, 17, 23}) {
+            float averageAngle = RadarGeometry.computeAverageAngle(angleCount);
+            assertEquals(360f / angleCount, averageAngle, DELTA);
+            // 奇数个角不偏移，第一个角在正北
+            assertEquals(0f, RadarGeometry.computeOffsetAngle(angleCount), 0f);
+
+            float[] unitX = new float[angleCount];
+            float[] unitY = new float[angleCount];
+            RadarGeometry.computeUnitVectors(angleCount, unitX, unitY);
+            assertEquals(0f, unitX[0], DELTA);
+            assertEquals(-1f, unitY[0], DELTA);
+            for (int position = 0; position < angleCount; position++) {
+                assertEquals(1f, unitX[position] * unitX[position] + unitY[position] * unitY[position], DELTA);
+                float angle = RadarGeometry.computeAxisAngle(angleCount, position);
+                assertTrue(angle >= 0 && angle < 360f);
+                assertEquals(angle, RadarGeometry.computePointAngle(unitX[position], unitY[position]), 1e-2f);
+            }
+        }
+    }
+
+    @Test
+    public void testEvenCountIsOffsetByHalfAverageAngle() {
+        assertEquals(30f, RadarGeometry.computeOffsetAngle(6), DELTA);
+        assertEquals(22.5f, RadarGeometry.computeOffsetAngle(8), DELTA);
+
+        // 偶数个角时左右对称：第i个角和倒数第i+1个角的X分量相反，Y分量相同
+        float[] unitX = new float[6];
+        float[] unitY = new float[6];
+        RadarGeometry.computeUnitVectors(6, unitX, unitY);
+        for (int position = 0; position < 3; position++) {
+            assertEquals(-unitX[position], unitX[5 - position], DELTA);
+            assertEquals(unitY[position], unitY[5 - position], DELTA);
+        }
+    }
+
+    @Test
+    public void testComputePointAngle() {
+        assertEquals(0f, RadarGeometry.computePointAngle(0, -1), DELTA);
+        assertEquals(90f, RadarGeometry.computePointAngle(1, 0), DELTA);
+        assertEquals(180f, RadarGeometry.computePointAngle(0, 1), DELTA);
+        assertEquals(270f, RadarGeometry.computePointAngle(-1, 0), DELTA);
+        assertEquals(45f, RadarGeometry.computePointAngle(1, -1), DELTA);
+    }
+
+    @Test
+    public void testComputeAxisPositionWithinSector() {
+        for (int angleCount = 3; angleCount <= 40; angleCount++) {
+            float averageAngle = RadarGeometry.computeAverageAngle(angleCount);
+            for (int position = 0; position < angleCount; position++) {
+                float axisAngle = RadarGeometry.computeAxisAngle(angleCount, position);
+                for (float delta : new float[]{-0.4f, 0f, 0.4f}) {
+                    double radians = Math.toRadians(axisAngle + delta * averageAngle);
+                    float dx = (float) Math.sin(radians) * 100;
+                    float dy = (float) -Math.cos(radians) * 100;
+                    assertEquals("angleCount=" + angleCount + ", delta=" + delta,
+                            position, RadarGeometry.computeAxisPosition(angleCount, dx, dy));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFindAxisPositionUsesCenter() {
+        RadarGeometry geometry = new RadarGeometry();
+        assertEquals(-1, geometry.findAxisPosition(0, 0));
+
+        geometry.update(5, 3, 100, 200, 50);
+        assertEquals(0, geometry.findAxisPosition(100, 160));
+        assertEquals(geometry.findAxisPosition(100 + 30, 200), RadarGeometry.computeAxisPosition(5, 30, 0));
+    }
+
+    @Test
+    public void testFindNearestPoint() {
+        RadarGeometry geometry = new RadarGeometry();
+        geometry.update(7, 1, 0, 0, 100);
+        float[] fractions = {1f, 1f, 1f, 1f, 1f, 1f, 1f};
+        float[] points = new float[14];
+        geometry.computeScorePoints(fractions, points);
+
+        // 正好在第2个顶点上
+        assertEquals(2, RadarGeometry.findNearestPoint(points, 7, 2, points[4], points[5], 10));
+        // 从相邻扇区查找也能找到
+        assertEquals(2, RadarGeometry.findNearestPoint(points, 7, 3, points[4] + 1, points[5], 10));
+        // 第0个角的相邻角要绕回到最后一个角
+        assertEquals(6, RadarGeometry.findNearestPoint(points, 7, 0, points[12], points[13] + 1, 10));
+        // 超出最大距离
+        assertEquals(-1, RadarGeometry.findNearestPoint(points, 7, 2, points[4] + 20, points[5], 10));
+    }
+
+    @Test
+    public void testUpdateOnlyRecomputesWhenChanged() {
+        RadarGeometry geometry = new RadarGeometry();
+        assertTrue(geometry.update(5, 4, 50, 50, 40));
+        assertFalse(geometry.update(5, 4, 50, 50, 40));
+        assertTrue(geometry.update(5, 4, 50, 50, 20));
+
+        // 最外层的顶点就是半径上的点
+        for (int position = 0; position < 5; position++) {
+            assertEquals(geometry.getPointX(position, 20), geometry.getHierarchyPointX(3, position), DELTA);
+            assertEquals(geometry.getPointY(position, 20), geometry.getHierarchyPointY(3, position), DELTA);
+        }
+        // 第一层的半径是 radius / hierarchyCount
+        assertEquals(50 - 5, geometry.getHierarchyPointY(0, 0), DELTA);
+    }
+
+    @Test
+    public void testFrozenGeometryRejectsChanges() {
+        RadarGeometry geometry = new RadarGeometry();
+        geometry.update(6, 5, 10, 10, 10);
+        geometry.freeze();
+        assertTrue(geometry.isFrozen());
+        assertFalse(geometry.update(6, 5, 10, 10, 10));
+        try {
+            geometry.update(7, 5, 10, 10, 10);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testResampleFractions() {
+        float[] source = {0.1f, 0.2f, 0.3f, 0.4f, 0.5f};
+        float[] target = new float[5];
+        RadarGeometry.resampleFractions(source, 5, target, 5);
+        for (int w = 0; w < 5; w++) {
+            assertEquals(source[w], target[w], DELTA);
+        }
+
+        // 所有比例都一样时重新采样后也都一样
+        float[] flat = {0.7f, 0.7f, 0.7f, 0.7f};
+        float[] resampled = new float[9];
+        RadarGeometry.resampleFractions(flat, 4, resampled, 9);
+        for (float fraction : resampled) {
+            assertEquals(0.7f, fraction, DELTA);
+        }
+    }
+
+    @Test
+    public void testComputeLocation() {
+        assertEquals(RadarGeometry.LOCATION_NORTH, RadarGeometry.computeLocation(0f));
+        assertEquals(RadarGeometry.LOCATION_NORTH, RadarGeometry.computeLocation(350f));
+        assertEquals(RadarGeometry.LOCATION_EAST_NORTH, RadarGeometry.computeLocation(45f));
+        assertEquals(RadarGeometry.LOCATION_EAST, RadarGeometry.computeLocation(90f));
+        assertEquals(RadarGeometry.LOCATION_EAST_SOUTH, RadarGeometry.computeLocation(135f));
+        assertEquals(RadarGeometry.LOCATION_SOUTH, RadarGeometry.computeLocation(180f));
+        assertEquals(RadarGeometry.LOCATION_WEST_SOUTH, RadarGeometry.computeLocation(225f));
+        assertEquals(RadarGeometry.LOCATION_WEST, RadarGeometry.computeLocation(270f));
+        assertEquals(RadarGeometry.LOCATION_WEST_NORTH, RadarGeometry.computeLocation(315f));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RadarPdfWriterTest {
+    private static final Charset LATIN_1 = Charset.forName("ISO-8859-1");
+    private static final String[] LABELS = {"Speed", "Power", "(Skill)", "Stamina", "Luck"};
+
+    /**
+     * 按网格输出多页，PDF中所有的字符都是Latin-1的，按Latin-1解码后字符的位置就是字节的偏移量
+     */
+    private static String writePdf(int chartCount) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RadarPdfWriter writer = new RadarPdfWriter(out, new RadarStyle.Builder().build(), 595, 842);
+        float[] scores = new float[chartCount * LABELS.length];
+        for (int w = 0; w < scores.length; w++) {
+            scores[w] = w % 11;
+        }
+        writer.writeCharts(150, 150, 3, 4, 10, scores, LABELS.length, chartCount, LABELS);
+        writer.close();
+        return new String(out.toByteArray(), LATIN_1);
+    }
+
+    @Test
+    public void testXrefOffsetsPointToObjects() throws IOException {
+        String pdf = writePdf(30);
+
+        int startXrefIndex = pdf.lastIndexOf("startxref\n");
+        int xrefOffset = Integer.parseInt(pdf.substring(startXrefIndex + 10, pdf.indexOf('\n', startXrefIndex + 10)));
+        assertTrue(pdf.startsWith("xref\n", xrefOffset));
+
+        Matcher header = Pattern.compile("xref\n0 (\\d+)\n").matcher(pdf);
+        assertTrue(header.find(xrefOffset));
+        int size = Integer.parseInt(header.group(1));
+        // 30个图形每页12个，共3页，每页3个对象，再加上目录、页面树和资源
+        assertEquals(1 + 3 + 3 * 3, size);
+
+        int entryStart = header.end() + 20;  // 跳过第0个空闲对象
+        for (int object = 1; object < size; object++) {
+            String entry = pdf.substring(entryStart, entryStart + 20);
+            assertTrue(entry, entry.endsWith(" 00000 n \n"));
+            int offset = Integer.parseInt(entry.substring(0, 10));
+            assertTrue("object " + object + " at " + offset, pdf.startsWith(object + " 0 obj\n", offset));
+            entryStart += 20;
+        }
+        assertTrue(pdf.startsWith("trailer\n<< /Size " + size + " ", entryStart));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+    }
+
+    @Test
+    public void testStreamLengthMatchesContent() throws IOException {
+        String pdf = writePdf(13);
+
+        Matcher stream = Pattern.compile("(\\d+) 0 obj\n<< /Length (\\d+) 0 R >>\nstream\n").matcher(pdf);
+        int pages = 0;
+        while (stream.find()) {
+            int contentStart = stream.end();
+            int contentEnd = pdf.indexOf("\nendstream", contentStart);
+            String lengthObject = stream.group(2) + " 0 obj\n";
+            int lengthIndex = pdf.indexOf(lengthObject) + lengthObject.length();
+            int length = Integer.parseInt(pdf.substring(lengthIndex, pdf.indexOf('\n', lengthIndex)));
+            assertEquals(contentEnd - contentStart, length);
+            pages++;
+        }
+        assertEquals(2, pages);
+    }
+
+    @Test
+    public void testWriteChartOutsidePage() throws IOException {
+        RadarPdfWriter writer = new RadarPdfWriter(new ByteArrayOutputStream(), new RadarStyle.Builder().build(), 595, 842);
+        float[] scores = {1, 2, 3, 4, 5};
+        try {
+            writer.writeChart(0, 0, 100, 100, 10, scores, 0, 5, null);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+
+        writer.beginPage();
+        writer.writeChart(0, 0, 100, 100, 10, scores, 0, 5, null);
+        writer.endPage();
+        try {
+            writer.writeChart(0, 0, 100, 100, 10, scores, 0, 5, null);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+
+        writer.close();
+        try {
+            writer.beginPage();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testDefaultTextMeasurerWidensCjk() {
+        RadarVectorWriter.TextMeasurer measurer = RadarVectorWriter.DEFAULT_TEXT_MEASURER;
+        assertEquals(11f, measurer.measureText("ab", 10), 1e-4f);
+        assertEquals(20f, measurer.measureText("速度", 10), 1e-4f);
+        assertEquals(15.5f, measurer.measureText("a速", 10), 1e-4f);
+    }
+
+    @Test
+    public void testCustomTextMeasurer() throws IOException {
+        RadarPdfWriter writer = new RadarPdfWriter(new ByteArrayOutputStream(), new RadarStyle.Builder().build(), 595, 842);
+        final StringBuilder measured = new StringBuilder();
+        writer.setTextMeasurer(new RadarVectorWriter.TextMeasurer() {
+            @Override
+            public float measureText(String text, float textSize) {
+                measured.append(text).append(',');
+                return 0;
+            }
+        });
+        writer.beginPage();
+        writer.writeChart(0, 0, 100, 100, 10, new float[]{1, 2, 3, 4, 5}, 0, 5, LABELS);
+        writer.endPage();
+        writer.close();
+        // 留出空间时度量一遍，摆放每个文案时再度量一遍
+        assertEquals("Speed,Power,(Skill),Stamina,Luck,Speed,Power,(Skill),Stamina,Luck,", measured.toString());
+
+        writer.setTextMeasurer(null);
+        assertTrue(writer.getTextMeasurer() == RadarVectorWriter.DEFAULT_TEXT_MEASURER);
+    }
+
+    @Test
+    public void testUnbalancedPages() throws IOException {
+        RadarPdfWriter writer = new RadarPdfWriter(new ByteArrayOutputStream(), new RadarStyle.Builder().build(), 595, 842);
+        try {
+            writer.endPage();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        writer.beginPage();
+        try {
+            writer.beginPage();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+}
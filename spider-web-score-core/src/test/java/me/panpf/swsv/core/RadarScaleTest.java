@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RadarScaleTest {
+    private static final float DELTA = 1e-5f;
+
+    @Test
+    public void testLinear() {
+        RadarScale scale = new RadarScale.Builder(3).setAxisRange(1, 0, 100).setAxisRange(2, -1, 1).build();
+        assertEquals(0.5f, scale.computeFraction(0, 5), DELTA);
+        assertEquals(0.25f, scale.computeFraction(1, 25), DELTA);
+        assertEquals(0.5f, scale.computeFraction(2, 0), DELTA);
+        // 线性换算不会截断超出范围的分数
+        assertEquals(1.5f, scale.computeFraction(0, 15), DELTA);
+    }
+
+    @Test
+    public void testLog() {
+        RadarScale scale = new RadarScale.Builder(2).setRange(0, 999).setMode(RadarScale.SCALE_LOG)
+                .setAxisRange(1, 1, 100).build();
+        assertEquals(0f, scale.computeFraction(0, 0), DELTA);
+        assertEquals(1f, scale.computeFraction(0, 999), DELTA);
+        // ln(1 + 9) / ln(1 + 999) = 1 / 3
+        assertEquals(1f / 3, scale.computeFraction(0, 9), DELTA);
+        // 小于最小值的分数按最小值算
+        assertEquals(0f, scale.computeFraction(1, -5), DELTA);
+        assertEquals(1f, scale.computeFraction(1, 100), DELTA);
+    }
+
+    @Test
+    public void testPercentile() {
+        RadarScale scale = new RadarScale.Builder(1).setAxisPercentileSamples(0, new float[]{0.9f, 0.1f, 0.5f, 0.3f}).build();
+        assertEquals(RadarScale.SCALE_PERCENTILE, scale.getMode(0));
+        assertEquals(0f, scale.computeFraction(0, 0f), DELTA);
+        assertEquals(0.25f, scale.computeFraction(0, 0.1f), DELTA);
+        assertEquals(0.5f, scale.computeFraction(0, 0.4f), DELTA);
+        assertEquals(0.75f, scale.computeFraction(0, 0.5f), DELTA);
+        assertEquals(1f, scale.computeFraction(0, 2f), DELTA);
+    }
+
+    @Test
+    public void testPercentileWithDuplicates() {
+        float[] sortedSamples = {1, 2, 2, 2, 3};
+        assertEquals(0.2f, RadarScale.computePercentile(sortedSamples, 1.5f), DELTA);
+        assertEquals(0.8f, RadarScale.computePercentile(sortedSamples, 2), DELTA);
+    }
+
+    @Test
+    public void testMixedModesAndOffset() {
+        RadarScale scale = new RadarScale.Builder(3)
+                .setAxisRange(1, 0, 100).setAxisMode(1, RadarScale.SCALE_LOG)
+                .setAxisPercentileSamples(2, new float[]{0.1f, 0.5f, 0.9f, 0.3f})
+                .build();
+        float[] scores = {-1, 5, 100, 0.5f};
+        float[] fractions = new float[3];
+        scale.computeFractions(scores, 1, fractions);
+        assertEquals(0.5f, fractions[0], DELTA);
+        assertEquals(1f, fractions[1], DELTA);
+        assertEquals(0.75f, fractions[2], DELTA);
+    }
+
+    @Test
+    public void testNewBuilderDoesNotChangeOriginal() {
+        RadarScale scale = new RadarScale.Builder(2).build();
+        RadarScale changed = scale.newBuilder().setAxisRange(0, 0, 20).setAxisMode(1, RadarScale.SCALE_LOG).build();
+        assertEquals(10f, scale.getMaxValue(0), 0f);
+        assertEquals(RadarScale.SCALE_LINEAR, scale.getMode(1));
+        assertEquals(20f, changed.getMaxValue(0), 0f);
+        assertEquals(RadarScale.SCALE_LOG, changed.getMode(1));
+    }
+
+    @Test
+    public void testBuilderValidation() {
+        try {
+            new RadarScale.Builder(0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+
+        RadarScale.Builder builder = new RadarScale.Builder(2);
+        try {
+            builder.setAxisRange(0, 5, 5);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            builder.setAxisRange(2, 0, 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            builder.setAxisMode(0, RadarScale.SCALE_PERCENTILE);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            builder.setAxisPercentileSamples(0, new float[0]);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RadarStatisticsTest {
+    private static final float DELTA = 1e-4f;
+    // 边长为1的正六边形的面积
+    private static final float HEXAGON_AREA = (float) (3 * Math.sqrt(3) / 2);
+
+    @Test
+    public void testArea() {
+        RadarStatistics statistics = new RadarStatistics(6, 10f);
+        assertEquals(HEXAGON_AREA, statistics.getMaxArea(), DELTA);
+
+        float[] scores = {
+                10, 10, 10, 10, 10, 10,
+                5, 5, 5, 5, 5, 5,
+                10, 0, 0, 0, 0, 0};
+        float[] shapes = new float[3 * RadarStatistics.SHAPE_STRIDE];
+        statistics.computeShapes(scores, 3, shapes);
+        assertEquals(HEXAGON_AREA, shapes[RadarStatistics.SHAPE_AREA], DELTA);
+        // 比例减半面积变为四分之一
+        assertEquals(HEXAGON_AREA / 4, shapes[RadarStatistics.SHAPE_STRIDE + RadarStatistics.SHAPE_AREA], DELTA);
+        assertEquals(0f, shapes[2 * RadarStatistics.SHAPE_STRIDE + RadarStatistics.SHAPE_AREA], DELTA);
+    }
+
+    @Test
+    public void testCentroidAndBalance() {
+        RadarStatistics statistics = new RadarStatistics(6, 10f);
+        float[] scores = {
+                10, 10, 10, 10, 10, 10,
+                10, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0};
+        float[] shapes = new float[3 * RadarStatistics.SHAPE_STRIDE];
+        statistics.computeShapes(scores, 3, shapes);
+
+        // 正多边形的重心就是中心点
+        assertEquals(0f, shapes[RadarStatistics.SHAPE_CENTROID_X], DELTA);
+        assertEquals(0f, shapes[RadarStatistics.SHAPE_CENTROID_Y], DELTA);
+        assertEquals(1f, shapes[RadarStatistics.SHAPE_BALANCE], DELTA);
+
+        // 面积为0时重心取所有顶点的平均值，偶数个角时第0个角在中心点的右上方
+        int offset = RadarStatistics.SHAPE_STRIDE;
+        float[] unitX = new float[6];
+        float[] unitY = new float[6];
+        RadarGeometry.computeUnitVectors(6, unitX, unitY);
+        assertEquals(unitX[0] / 6, shapes[offset + RadarStatistics.SHAPE_CENTROID_X], DELTA);
+        assertEquals(unitY[0] / 6, shapes[offset + RadarStatistics.SHAPE_CENTROID_Y], DELTA);
+        assertEquals(0f, shapes[offset + RadarStatistics.SHAPE_BALANCE], DELTA);
+
+        // 所有分数都是0时也认为是均衡的
+        assertEquals(1f, shapes[2 * offset + RadarStatistics.SHAPE_BALANCE], DELTA);
+    }
+
+    @Test
+    public void testScaleIsUsed() {
+        RadarScale scale = new RadarScale.Builder(4).setRange(0, 100).setAxisRange(0, 0, 1).build();
+        RadarStatistics statistics = new RadarStatistics(scale);
+        float[] shapes = new float[RadarStatistics.SHAPE_STRIDE];
+        statistics.computeShapes(new float[]{1, 100, 100, 100}, 1, shapes);
+        assertEquals(statistics.getMaxArea(), shapes[RadarStatistics.SHAPE_AREA], DELTA);
+        assertEquals(1f, shapes[RadarStatistics.SHAPE_BALANCE], DELTA);
+    }
+
+    @Test
+    public void testSimilarity() {
+        RadarStatistics statistics = new RadarStatistics(6, 10f);
+        float[] full = {10, 10, 10, 10, 10, 10};
+        float[] half = {5, 5, 5, 5, 5, 5};
+        float[] zero = {0, 0, 0, 0, 0, 0};
+        assertEquals(1f, statistics.computeScoreSimilarity(full, 0, full, 0), DELTA);
+        assertEquals(0.25f, statistics.computeScoreSimilarity(full, 0, half, 0), DELTA);
+        assertEquals(0.25f, statistics.computeScoreSimilarity(half, 0, full, 0), DELTA);
+        assertEquals(0f, statistics.computeScoreSimilarity(full, 0, zero, 0), DELTA);
+        assertEquals(1f, statistics.computeScoreSimilarity(zero, 0, zero, 0), DELTA);
+
+        float[] scores = new float[18];
+        System.arraycopy(full, 0, scores, 0, 6);
+        System.arraycopy(half, 0, scores, 6, 6);
+        System.arraycopy(zero, 0, scores, 12, 6);
+        float[] similarities = new float[9];
+        statistics.computeSimilarities(scores, 3, similarities);
+        assertArrayEquals(new float[]{
+                1, 0.25f, 0,
+                0.25f, 1, 0,
+                0, 0, 1}, similarities, DELTA);
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        int axisCount = 7;
+        int chartCount = 300;
+        float[] scores = new float[axisCount * chartCount];
+        Random random = new Random(42);
+        for (int w = 0; w < scores.length; w++) {
+            scores[w] = random.nextFloat() * 10;
+        }
+        RadarStatistics statistics = new RadarStatistics(axisCount, 10f);
+        statistics.setParallelThreshold(16);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            float[] sequentialShapes = new float[chartCount * RadarStatistics.SHAPE_STRIDE];
+            float[] parallelShapes = new float[chartCount * RadarStatistics.SHAPE_STRIDE];
+            statistics.computeShapes(scores, chartCount, sequentialShapes);
+            statistics.computeShapes(scores, chartCount, parallelShapes, pool);
+            assertArrayEquals(sequentialShapes, parallelShapes, 0f);
+
+            float[] sequentialSimilarities = new float[chartCount * chartCount];
+            float[] parallelSimilarities = new float[chartCount * chartCount];
+            statistics.computeSimilarities(scores, chartCount, sequentialSimilarities);
+            statistics.computeSimilarities(scores, chartCount, parallelSimilarities, pool);
+            assertArrayEquals(sequentialSimilarities, parallelSimilarities, 0f);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try {
+            new RadarStatistics(2, 10f);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new RadarStatistics(5, 0f);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+
+        RadarStatistics statistics = new RadarStatistics(5, 10f);
+        try {
+            statistics.computeShapes(new float[9], 2, new float[8]);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            statistics.computeShapes(new float[10], 2, new float[7]);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            statistics.computeSimilarities(new float[10], 2, new float[3]);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
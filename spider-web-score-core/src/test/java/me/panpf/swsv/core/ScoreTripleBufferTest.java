@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ScoreTripleBufferTest {
+
+    @Test
+    public void testNothingPublished() {
+        ScoreTripleBuffer buffer = new ScoreTripleBuffer(4);
+        assertFalse(buffer.hasFresh());
+        assertFalse(buffer.acquire());
+        assertEquals(0, buffer.getFrontCount());
+    }
+
+    @Test
+    public void testPublishThenAcquire() {
+        ScoreTripleBuffer buffer = new ScoreTripleBuffer(4);
+        buffer.publish(10f, new float[]{1, 2, 3}, 3);
+        assertTrue(buffer.hasFresh());
+
+        assertTrue(buffer.acquire());
+        assertFalse(buffer.hasFresh());
+        assertEquals(3, buffer.getFrontCount());
+        assertEquals(10f, buffer.getFrontMaxScore(), 0f);
+        assertEquals(2f, buffer.getFront()[1], 0f);
+
+        // 没有新的快照时前台缓冲区不变
+        assertFalse(buffer.acquire());
+        assertEquals(3, buffer.getFrontCount());
+        assertEquals(2f, buffer.getFront()[1], 0f);
+    }
+
+    @Test
+    public void testOnlyLatestSnapshotIsAcquired() {
+        ScoreTripleBuffer buffer = new ScoreTripleBuffer(2);
+        buffer.publish(10f, new float[]{1, 1}, 2);
+        buffer.publish(20f, new float[]{2, 2}, 2);
+        buffer.publish(30f, new float[]{3}, 1);
+
+        assertTrue(buffer.acquire());
+        assertEquals(30f, buffer.getFrontMaxScore(), 0f);
+        assertEquals(1, buffer.getFrontCount());
+        assertEquals(3f, buffer.getFront()[0], 0f);
+        assertFalse(buffer.acquire());
+    }
+
+    @Test
+    public void testBackBufferIsSwappedOnPublish() {
+        ScoreTripleBuffer buffer = new ScoreTripleBuffer(2);
+        float[] back = buffer.getBackBuffer();
+        back[0] = 5;
+        back[1] = 6;
+        buffer.publish(10f, 2);
+        assertNotSame(back, buffer.getBackBuffer());
+
+        // 生产者写新的后台缓冲区不会影响已经发布的快照
+        buffer.getBackBuffer()[0] = 100;
+        assertTrue(buffer.acquire());
+        assertEquals(5f, buffer.getFront()[0], 0f);
+    }
+
+    @Test
+    public void testInvalidPublish() {
+        ScoreTripleBuffer buffer = new ScoreTripleBuffer(2);
+        try {
+            buffer.publish(10f, 3);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        for (float maxScore : new float[]{0f, -1f, Float.NaN}) {
+            try {
+                buffer.publish(maxScore, new float[]{1, 2}, 2);
+                fail("maxScore=" + maxScore);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        // 无效的快照不会发布出去
+        assertFalse(buffer.hasFresh());
+    }
+
+    @Test
+    public void testConcurrentSnapshotsAreCompleteAndOrdered() throws InterruptedException {
+        final int capacity = 64;
+        final int frames = 200000;
+        final ScoreTripleBuffer buffer = new ScoreTripleBuffer(capacity);
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int frame = 1; frame <= frames; frame++) {
+                    float[] back = buffer.getBackBuffer();
+                    for (int w = 0; w < capacity; w++) {
+                        back[w] = frame;
+                    }
+                    buffer.publish(frame, capacity);
+                }
+            }
+        });
+        producer.start();
+
+        float lastFrame = 0;
+        while (lastFrame < frames) {
+            if (!buffer.acquire()) {
+                if (!producer.isAlive() && !buffer.hasFresh()) {
+                    break;
+                }
+                continue;
+            }
+            float frame = buffer.getFrontMaxScore();
+            assertTrue("frame went backwards: " + lastFrame + " -> " + frame, frame > lastFrame);
+            float[] front = buffer.getFront();
+            // 同一份快照中的分数必须都来自同一帧，不能撕裂
+            for (int w = 0; w < capacity; w++) {
+                assertEquals(frame, front[w], 0f);
+            }
+            lastFrame = frame;
+        }
+        producer.join();
+        assertEquals(frames, lastFrame, 0f);
+    }
+}
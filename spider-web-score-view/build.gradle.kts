@@ -18,6 +18,30 @@ android {
             proguardFiles(getDefaultProguardFile("proguard-android.txt"), "proguard-rules.pro")
         }
     }
+
+    testOptions {
+        unitTests.isIncludeAndroidResources = true
+    }
+}
+
+dependencies {
+    api(project(":spider-web-score-core"))
+
+    testImplementation("junit:junit:4.13.2")
+    testImplementation("org.robolectric:robolectric:4.10.3")
+}
+
+/**
+ * RenderGoldenTest compares the rendered views with the PNGs in src/test/golden, regenerate them after an intended change
+ *
+ * ./gradlew :spider-web-score-view:testDebugUnitTest -Pgolden.update
+ */
+tasks.withType<Test>().configureEach {
+    systemProperty("golden.dir", file("src/test/golden").absolutePath)
+    systemProperty("golden.reportDir", file("$buildDir/reports/golden").absolutePath)
+    if (project.hasProperty("golden.update")) {
+        systemProperty("golden.update", "true")
+    }
 }
 
 /**
@@ -22,26 +22,29 @@ import android.util.AttributeSet;
 import android.view.View;
 import android.view.ViewGroup;
 
+import me.panpf.swsv.core.RadarGeometry;
+
 /**
  * 圆形布局，所有子View按照圆形排列并且在圆圈的外面
  * <br>值的注意的是直径多大CircularLayout的measure尺寸就是多大，因此你需要将CircularLayout以及他的父ViewGroup的clipChild都设为false，并且让父ViewGroup大一些才能显示出CircularLayout的子View
  */
 public class CircularLayout extends ViewGroup {
-    private static final int LOCATION_EAST = 1;
-    private static final int LOCATION_WEST = 2;
-    private static final int LOCATION_SOUTH = 3;
-    private static final int LOCATION_NORTH = 4;
-    private static final int LOCATION_EAST_NORTH = 5;
-    private static final int LOCATION_EAST_SOUTH = 6;
-    private static final int LOCATION_WEST_NORTH = 7;
-    private static final int LOCATION_WEST_SOUTH = 8;
-
     private int spacing;    // 子View与圆环之间的间距
 
     private float centerX;    // 中心点X坐标
     private float centerY;    // 中心点Y坐标
     private float radius;   // 半径
-    private int childCount; // 子View个数
+    private RadarGeometry geometry = new RadarGeometry();   // 每个子View在圆上的位置
+    private float[] labelPosition = new float[2];   // 计算子View左上角坐标时复用
+    private float[] anchorPoints = new float[0];  // 每个子View在圆上的锚点，按[位置][x, y]排列，只有子View的个数或者尺寸变化时才重新计算
+    private int[] anchorLocations = new int[0];  // 每个子View所处的方位，和anchorPoints一起缓存，避免每次布局都计算
+    private int[] laidOutWidths = new int[0];  // 上次摆放时每个子View的宽，用来判断子View是否需要重新摆放
+    private int[] laidOutHeights = new int[0];  // 上次摆放时每个子View的高
+    private int laidOutCount = -1;  // 上次摆放的子View的个数，-1表示所有的子View都需要重新摆放
+    private int lastWidthMeasureSpec;  // 上次测量子View时使用的规格，变化后所有的子View都要重新测量
+    private int lastHeightMeasureSpec;
+    private boolean childrenMeasured;
+    private LayoutMetricsListener layoutMetricsListener;  // 布局统计的回调，为null时不统计
 
     public CircularLayout(Context context) {
         super(context);
@@ -74,13 +77,6 @@ public class CircularLayout extends ViewGroup {
         typedArray.recycle();
     }
 
-    @Override
-    public void addView(View child, int index, LayoutParams params) {
-        super.addView(child, index, params);
-        childCount = getChildCount();
-        reset();
-    }
-
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
@@ -89,8 +85,39 @@ public class CircularLayout extends ViewGroup {
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        measureChildren(widthMeasureSpec, heightMeasureSpec);
+        boolean tracing = SpiderWebTrace.isEnabled();
+        LayoutMetricsListener listener = layoutMetricsListener;
+        long startTime = listener != null ? System.nanoTime() : 0;
+        if(tracing){
+            SpiderWebTrace.beginSection("CircularLayout#onMeasure");
+        }
+
+        measureChangedChildren(widthMeasureSpec, heightMeasureSpec);
         super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+
+        if(tracing){
+            SpiderWebTrace.endSection();
+        }
+        if(listener != null){
+            listener.onMeasured(this, System.nanoTime() - startTime, getChildCount());
+        }
+    }
+
+    /**
+     * 测量子View，规格没有变化时只测量请求过重新布局的子View（例如修改了文案），其它的子View沿用上次的测量结果
+     */
+    private void measureChangedChildren(int widthMeasureSpec, int heightMeasureSpec) {
+        boolean specChanged = !childrenMeasured || widthMeasureSpec != lastWidthMeasureSpec || heightMeasureSpec != lastHeightMeasureSpec;
+        View childView;
+        for(int position = 0, childCount = getChildCount(); position < childCount; position++){
+            childView = getChildAt(position);
+            if(childView.getVisibility() != GONE && (specChanged || childView.isLayoutRequested())){
+                measureChild(childView, widthMeasureSpec, heightMeasureSpec);
+            }
+        }
+        lastWidthMeasureSpec = widthMeasureSpec;
+        lastHeightMeasureSpec = heightMeasureSpec;
+        childrenMeasured = true;
     }
 
     private void reset(){
@@ -103,110 +130,116 @@ public class CircularLayout extends ViewGroup {
 
     @Override
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        boolean tracing = SpiderWebTrace.isEnabled();
+        LayoutMetricsListener listener = layoutMetricsListener;
+        long startTime = listener != null ? System.nanoTime() : 0;
+        if(tracing){
+            SpiderWebTrace.beginSection("CircularLayout#onLayout");
+        }
+
+        layoutChildren();
+
+        if(tracing){
+            SpiderWebTrace.endSection();
+        }
+        if(listener != null){
+            listener.onLaidOut(this, System.nanoTime() - startTime, getChildCount());
+        }
+    }
+
+    /**
+     * 把子View摆放到圆圈外面，子View的个数以及CircularLayout的尺寸都没变时只重新摆放请求过重新布局或者尺寸变了的子View
+     */
+    private void layoutChildren() {
+        int childCount = getChildCount();
         if(childCount == 0){
+            laidOutCount = 0;
             return;
         }
 
-        // 循环处理每个位置的子View，先计算出子View在圆上所处的位置，然后按照其子View的宽高偏移一定的距离，保证子View全部在圆圈之外，并且子View的中心点和其圆上的点连同圆心在一条直线上
+        // 锚点和方位只和子View的个数以及尺寸有关，RadarGeometry没有变化时直接使用缓存
+        boolean relayoutAll = laidOutCount != childCount;
+        if(geometry.update(childCount, 1, centerX, centerY, radius) || anchorPoints.length < childCount * 2){
+            computeAnchors(childCount);
+            relayoutAll = true;
+        }
+        if(laidOutWidths.length < childCount){
+            laidOutWidths = new int[childCount];
+            laidOutHeights = new int[childCount];
+        }
+
+        // 循环处理每个位置的子View，先取出子View在圆上所处的位置，然后按照其子View的宽高偏移一定的距离，保证子View全部在圆圈之外，并且子View的中心点和其圆上的点连同圆心在一条直线上
         View childView;
-        float nextAngle;
-        float nextRadians;
-        float nextPointX;
-        float nextPointY;
         int childViewMeasuredWidth;
         int childViewMeasuredHeight;
-        float childViewLeft;
-        float childViewTop;
-        float averageAngle = childCount > 0 ? 360 / childCount : 0;
-        float offsetAngle = averageAngle > 0 && childCount % 2 == 0 ? averageAngle / 2 : 0;    // 偏移角度，有助于让整个图形左右对称
-        for (int position = 0, size = getChildCount(); position < size; position++) {
+        for (int position = 0; position < childCount; position++) {
             childView = getChildAt(position);
-            nextAngle = offsetAngle + (position * averageAngle);
-            nextRadians = (float) Math.toRadians(nextAngle);
-            nextPointX = (float) (centerX + Math.sin(nextRadians) * radius);
-            nextPointY = (float) (centerY - Math.cos(nextRadians) * radius);
-
             childViewMeasuredWidth = childView.getMeasuredWidth();
             childViewMeasuredHeight = childView.getMeasuredHeight();
-            childViewLeft = nextPointX;
-            childViewTop = nextPointY;
-            switch (calculateLocationByAngle(nextAngle)){
-                case LOCATION_NORTH :
-                    childViewLeft -= childViewMeasuredWidth / 2;
-                    childViewTop -= childViewMeasuredHeight;
-
-                    childViewTop -= spacing;
-                    break;
-                case LOCATION_EAST_NORTH :
-                    childViewTop -= childViewMeasuredHeight / 2;
-
-                    childViewLeft += spacing;
-                    childViewTop -= spacing;
-                    break;
-                case LOCATION_EAST :
-                    childViewTop -= childViewMeasuredHeight / 2;
-
-                    childViewLeft += spacing;
-                    break;
-                case LOCATION_EAST_SOUTH :
-                    childViewLeft += spacing;
-                    childViewTop += spacing;
-                    break;
-                case LOCATION_SOUTH :
-                    childViewLeft -= childViewMeasuredWidth / 2;
-
-                    childViewTop += spacing;
-                    break;
-                case LOCATION_WEST_SOUTH :
-                    childViewLeft -= childViewMeasuredWidth;
-
-                    childViewLeft -= spacing;
-                    childViewTop += spacing;
-                    break;
-                case LOCATION_WEST :
-                    childViewLeft -= childViewMeasuredWidth;
-                    childViewTop -= childViewMeasuredHeight / 2;
-
-                    childViewLeft -= spacing;
-                    break;
-                case LOCATION_WEST_NORTH :
-                    childViewLeft -= childViewMeasuredWidth;
-                    childViewTop -= childViewMeasuredHeight / 2;
-
-                    childViewLeft -= spacing;
-                    childViewTop -= spacing;
-                    break;
+            if(!relayoutAll && !childView.isLayoutRequested()
+                    && laidOutWidths[position] == childViewMeasuredWidth && laidOutHeights[position] == childViewMeasuredHeight){
+                continue;
             }
 
-            childView.layout((int) childViewLeft, (int) childViewTop, (int) (childViewLeft + childViewMeasuredWidth), (int) (childViewTop + childViewMeasuredHeight));
+            RadarGeometry.computeLabelPosition(anchorLocations[position], anchorPoints[position * 2], anchorPoints[position * 2 + 1],
+                    childViewMeasuredWidth, childViewMeasuredHeight, spacing, labelPosition);
+            childView.layout((int) labelPosition[0], (int) labelPosition[1], (int) (labelPosition[0] + childViewMeasuredWidth), (int) (labelPosition[1] + childViewMeasuredHeight));
+            laidOutWidths[position] = childViewMeasuredWidth;
+            laidOutHeights[position] = childViewMeasuredHeight;
+        }
+        laidOutCount = childCount;
+    }
+
+    /**
+     * 计算每个子View在圆上的锚点以及所处的方位
+     */
+    private void computeAnchors(int childCount) {
+        if(anchorPoints.length < childCount * 2){
+            anchorPoints = new float[childCount * 2];
+            anchorLocations = new int[childCount];
+        }
+        for(int position = 0; position < childCount; position++){
+            anchorPoints[position * 2] = geometry.getHierarchyPointX(0, position);
+            anchorPoints[position * 2 + 1] = geometry.getHierarchyPointY(0, position);
+            anchorLocations[position] = RadarGeometry.computeLocation(geometry.getAxisAngle(position));
         }
     }
 
     /**
-     * 根据角度判断所处的方位，CircularLayout把一个圆分成了8个方位（东、南、西、北、西北、东北、西南、东南），不同的方位有不同的偏移方式
-     * @param angle 角度
-     * @return 方位
+     * 批量绑定所有的子View，复用已有的子View，只添加或删除数量上的差异，整个过程只会触发一次measure和layout
+     * <br>适合需要频繁更新文案的场景，例如列表中的每一项，用来代替removeAllViews()之后再逐个addView(View)
+     * @param binder 子View绑定器
      */
-    private int calculateLocationByAngle(float angle) {
-        if ((angle >= 337.5f && angle <= 360f) || (angle >= 0f && angle <= 22.5f)) {
-            return LOCATION_NORTH;
-        } else if (angle >= 22.5f && angle <= 67.5f) {
-            return LOCATION_EAST_NORTH;
-        } else if (angle >= 67.5f && angle <= 112.5f) {
-            return LOCATION_EAST;
-        } else if (angle >= 112.5f && angle <= 157.5) {
-            return LOCATION_EAST_SOUTH;
-        } else if (angle >= 157.5 && angle <= 202.5) {
-            return LOCATION_SOUTH;
-        } else if (angle >= 202.5 && angle <= 247.5) {
-            return LOCATION_WEST_SOUTH;
-        } else if (angle >= 247.5 && angle <= 292.5) {
-            return LOCATION_WEST;
-        } else if (angle >= 292.5 && angle <= 337.5) {
-            return LOCATION_WEST_NORTH;
-        }else{
-            throw new IllegalArgumentException("error angle " + angle);
+    @SuppressWarnings("unchecked")
+    public <V extends View> void bindLabels(LabelBinder<V> binder) {
+        if(binder == null){
+            throw new IllegalArgumentException("binder Can't be null");
         }
+
+        int newCount = binder.getCount();
+        int oldCount = getChildCount();
+        if(oldCount > newCount){
+            removeViewsInLayout(newCount, oldCount - newCount);
+        }
+
+        View childView;
+        LayoutParams params;
+        for(int position = 0; position < newCount; position++){
+            if(position < oldCount){
+                childView = getChildAt(position);
+            }else{
+                childView = binder.onCreateView(this);
+                params = childView.getLayoutParams();
+                if(params == null){
+                    params = generateDefaultLayoutParams();
+                }
+                addViewInLayout(childView, -1, params, true);
+            }
+            binder.onBindView((V) childView, position);
+        }
+
+        requestLayout();
+        invalidate();
     }
 
     /**
@@ -215,6 +248,61 @@ public class CircularLayout extends ViewGroup {
      */
     public void setSpacing(int spacing) {
         this.spacing = spacing;
+        laidOutCount = -1;
         requestLayout();
     }
+
+    /**
+     * 设置布局统计的回调，设置后每次onMeasure和onLayout都会统计耗时并回调，为null时不统计
+     * <br>系统跟踪的开关见SpiderWebTrace.setEnabled(boolean)
+     * @param layoutMetricsListener 布局统计的回调
+     */
+    public void setLayoutMetricsListener(LayoutMetricsListener layoutMetricsListener) {
+        this.layoutMetricsListener = layoutMetricsListener;
+    }
+
+    /**
+     * 布局统计的回调，在主线程中回调
+     */
+    public interface LayoutMetricsListener {
+        /**
+         * onMeasure完成
+         * @param layout CircularLayout
+         * @param durationNanos 耗时，单位纳秒
+         * @param childCount 子View的个数
+         */
+        void onMeasured(CircularLayout layout, long durationNanos, int childCount);
+
+        /**
+         * onLayout完成
+         * @param layout CircularLayout
+         * @param durationNanos 耗时，单位纳秒
+         * @param childCount 子View的个数
+         */
+        void onLaidOut(CircularLayout layout, long durationNanos, int childCount);
+    }
+
+    /**
+     * 子View绑定器，配合bindLabels(LabelBinder)批量绑定CircularLayout的子View
+     * @param <V> 子View的类型，所有子View必须都是由onCreateView(CircularLayout)创建的
+     */
+    public interface LabelBinder<V extends View> {
+        /**
+         * 获取子View的个数，应该和分数的个数一致
+         */
+        int getCount();
+
+        /**
+         * 已有的子View不够时创建新的子View，不要添加到parent中
+         * @param parent CircularLayout
+         */
+        V onCreateView(CircularLayout parent);
+
+        /**
+         * 绑定数据到子View
+         * @param view 子View
+         * @param position 位置
+         */
+        void onBindView(V view, int position);
+    }
 }
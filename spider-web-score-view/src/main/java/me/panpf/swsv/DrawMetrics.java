@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+/**
+ * 一次绘制的统计数据，包括每个阶段的耗时、绘制的顶点个数、绘制调用次数以及这一帧之前请求刷新的次数，用来分析这个控件占用了多少帧时间
+ * <br>通过SpiderWebRenderer.setDrawMetricsListener(DrawMetrics.Listener)开启，同一个绘制器的每一帧都复用同一个对象，因此不要在回调之外持有它
+ */
+public class DrawMetrics {
+    public static final int PHASE_GRID_CACHE = 0;    // 绘制蛛网缓存
+    public static final int PHASE_HIERARCHY = 1;    // 绘制所有的层
+    public static final int PHASE_SPOKES = 2;    // 绘制所有的线
+    public static final int PHASE_SCORE = 3;    // 绘制分数图形
+    public static final int PHASE_SCORE_STROKE = 4;    // 绘制分数图形的描边
+    public static final int PHASE_SERIES = 5;    // 绘制叠加的分数图形
+    public static final int PHASE_LABELS = 6;    // 绘制文案以及图标
+    public static final int PHASE_COUNT = 7;
+
+    static final String[] SECTION_NAMES = {
+            "SpiderWeb#gridCache", "SpiderWeb#hierarchy", "SpiderWeb#spokes", "SpiderWeb#score",
+            "SpiderWeb#scoreStroke", "SpiderWeb#series", "SpiderWeb#labels"};
+
+    private final long[] phaseDurations = new long[PHASE_COUNT];
+    private long totalDuration;
+    private int vertexCount;
+    private int drawCallCount;
+    private int invalidateCount;
+
+    void reset() {
+        for(int w = 0; w < PHASE_COUNT; w++){
+            phaseDurations[w] = 0;
+        }
+        totalDuration = 0;
+        vertexCount = 0;
+        drawCallCount = 0;
+        invalidateCount = 0;
+    }
+
+    void addPhaseDuration(int phase, long durationNanos) {
+        phaseDurations[phase] += durationNanos;
+    }
+
+    void addVertexCount(int count) {
+        vertexCount += count;
+    }
+
+    void set(long totalDuration, int drawCallCount, int invalidateCount) {
+        this.totalDuration = totalDuration;
+        this.drawCallCount = drawCallCount;
+        this.invalidateCount = invalidateCount;
+    }
+
+    /**
+     * 获取指定阶段的耗时，没有执行的阶段为0，蛛网缓存有效时PHASE_HIERARCHY和PHASE_SPOKES也为0
+     * @param phase 阶段，PHASE_开头的常量
+     * @return 耗时，单位纳秒
+     */
+    public long getPhaseDuration(int phase) {
+        return phaseDurations[phase];
+    }
+
+    /**
+     * 获取整个绘制的耗时，单位纳秒
+     */
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * 获取这一帧绘制的顶点个数，包括层、线、分数图形以及叠加的分数图形
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * 获取这一帧调用Canvas绘制方法的次数
+     */
+    public int getDrawCallCount() {
+        return drawCallCount;
+    }
+
+    /**
+     * 获取上一帧之后到这一帧之间请求刷新的次数，大于1说明有多次刷新被合并了
+     */
+    public int getInvalidateCount() {
+        return invalidateCount;
+    }
+
+    /**
+     * 获取阶段的名字，也是系统跟踪中区段的名字
+     * @param phase 阶段，PHASE_开头的常量
+     */
+    public static String getPhaseName(int phase) {
+        return SECTION_NAMES[phase];
+    }
+
+    /**
+     * 绘制统计的回调
+     */
+    public interface Listener {
+        /**
+         * 每次绘制完成后在绘制的线程中回调
+         * @param metrics 这一帧的统计数据，会被复用，不要在回调之外持有
+         */
+        void onDrawMetrics(DrawMetrics metrics);
+    }
+}
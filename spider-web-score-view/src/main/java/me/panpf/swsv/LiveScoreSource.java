@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import me.panpf.swsv.core.ScoreTripleBuffer;
+
+/**
+ * 实时分数源，适合在工作线程中以很高的频率（例如传感器、监控数据）更新分数的场景，通过SpiderWebScoreView.setLiveScoreSource(LiveScoreSource)绑定
+ * <br>生产者线程把分数发布到预先分配好的三重缓冲中，SpiderWebScoreView每次绘制时只取最新的一份完整快照，中间的快照直接丢弃，因此不会出现画面撕裂
+ * <br>多次发布只会触发一次刷新，直到下一次绘制取走快照；分数的个数不变时生产者和主线程都不会创建任何对象
+ * <br>同一时间只支持一个生产者线程，并且只能绑定到一个SpiderWebScoreView上
+ */
+public class LiveScoreSource {
+    private final ScoreTripleBuffer buffer;
+    private final AtomicBoolean invalidatePending = new AtomicBoolean();  // 已经请求了刷新但是还没有绘制
+    private volatile SpiderWebScoreView view;
+
+    /**
+     * @param capacity 最多有多少个分数
+     */
+    public LiveScoreSource(int capacity) {
+        buffer = new ScoreTripleBuffer(capacity);
+    }
+
+    /**
+     * 拷贝并发布一份分数快照，只能在生产者线程调用
+     * @param maxScore 最大分数，必须大于0，否则直接在生产者线程抛出IllegalArgumentException
+     * @param scores 分数，发布后调用方可以立即修改
+     * @param count 分数的个数，不能超过创建时指定的容量
+     */
+    public void publish(float maxScore, float[] scores, int count) {
+        buffer.publish(maxScore, scores, count);
+        requestInvalidate();
+    }
+
+    /**
+     * 获取可以直接写入分数的数组，写完后调用publish(float, int)发布，这样连拷贝都省了，只能在生产者线程调用
+     * <br>每次发布之后数组都会换成另外一个，因此每次写之前都要重新获取
+     */
+    public float[] getWriteBuffer() {
+        return buffer.getBackBuffer();
+    }
+
+    /**
+     * 发布通过getWriteBuffer()写入的分数，只能在生产者线程调用
+     * @param maxScore 最大分数，必须大于0，否则直接在生产者线程抛出IllegalArgumentException
+     * @param count 分数的个数
+     */
+    public void publish(float maxScore, int count) {
+        buffer.publish(maxScore, count);
+        requestInvalidate();
+    }
+
+    /**
+     * 请求刷新，上一次请求还没有绘制时直接跳过
+     */
+    private void requestInvalidate() {
+        SpiderWebScoreView targetView = view;
+        if(targetView != null && invalidatePending.compareAndSet(false, true)){
+            targetView.postInvalidate();
+        }
+    }
+
+    void attach(SpiderWebScoreView view) {
+        this.view = view;
+        invalidatePending.set(false);
+    }
+
+    void detach() {
+        this.view = null;
+    }
+
+    /**
+     * 在主线程绘制之前取走最新的快照交给绘制器
+     * @return false：没有新的快照或者分数没有变化
+     */
+    boolean pull(SpiderWebRenderer renderer) {
+        // 先清除标记再取快照，这样取完之后发布的快照一定会再触发一次刷新
+        invalidatePending.set(false);
+        if(!buffer.acquire() || buffer.getFrontCount() <= 0){
+            return false;
+        }
+        return renderer.setScores(buffer.getFrontMaxScore(), buffer.getFront(), buffer.getFrontCount(), false);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import me.panpf.swsv.core.RadarScale;
+
+/**
+ * 一组分数以及它的样式，用于在同一个SpiderWebScoreView中叠加显示多组分数
+ * <br>分数的个数必须和SpiderWebScoreView的角的个数一致，否则不会绘制
+ * <br>修改了已经添加到SpiderWebScoreView中的ScoreSeries后需要调用SpiderWebScoreView.notifyScoreSeriesChanged()刷新
+ */
+public class ScoreSeries {
+    private float[] scoreFractions = new float[0];  // 每个分数占最大分数的比例
+    private int scoreCount;  // 分数的个数
+    private int color = 0x80F65801; // 分数图形的颜色
+    private int strokeColor = 0xFFF65801; // 分数图形描边的颜色
+    private float strokeWidth = -1; // 分数图形描边的宽度
+    private boolean disableStroke; // 禁用分数图形的描边
+    private boolean visible = true; // 是否显示
+
+    int[] lodIndices = new int[0];  // 细节层次绘制时保留的角，由SpiderWebRenderer计算并缓存
+    int lodIndexCount;
+    int lodStep;    // 计算lodIndices时的步长，为0表示需要重新计算
+
+    public ScoreSeries(float maxScore, float[] scores) {
+        setScores(maxScore, scores);
+    }
+
+    public ScoreSeries(RadarScale scale, float[] scores) {
+        setScores(scale, scores);
+    }
+
+    /**
+     * 设置分数
+     * @param maxScore 最大分数
+     * @param scores 分数
+     */
+    public void setScores(float maxScore, float[] scores) {
+        if(maxScore <= 0){
+            throw new IllegalArgumentException("maxScore Can not be less than or equal to 0");
+        }
+        if(scores == null || scores.length == 0){
+            throw new IllegalArgumentException("scores Can't be null or empty");
+        }
+
+        if(scoreFractions.length < scores.length){
+            scoreFractions = new float[scores.length];
+        }
+        for(int w = 0; w < scores.length; w++){
+            scoreFractions[w] = scores[w] / maxScore;
+        }
+        scoreCount = scores.length;
+        lodStep = 0;
+    }
+
+    /**
+     * 设置分数，按分数刻度中每个角的范围和换算方式换算成比例，适合各个角的量纲不一样的数据
+     * @param scale 分数刻度，角的个数必须和分数的个数一致
+     * @param scores 分数
+     */
+    public void setScores(RadarScale scale, float[] scores) {
+        if(scale == null){
+            throw new IllegalArgumentException("scale Can't be null");
+        }
+        if(scores == null || scores.length != scale.getAxisCount()){
+            throw new IllegalArgumentException("scores Can't be null and scores.length must be equal to scale.getAxisCount()");
+        }
+
+        if(scoreFractions.length < scores.length){
+            scoreFractions = new float[scores.length];
+        }
+        scale.computeFractions(scores, 0, scoreFractions);
+        scoreCount = scores.length;
+        lodStep = 0;
+    }
+
+    /**
+     * 设置分数图形的颜色
+     * @param color 分数图形的颜色
+     */
+    public void setColor(int color) {
+        this.color = color;
+    }
+
+    /**
+     * 设置分数图形描边的颜色
+     * @param strokeColor 分数图形描边的颜色
+     */
+    public void setStrokeColor(int strokeColor) {
+        this.strokeColor = strokeColor;
+    }
+
+    /**
+     * 设置分数图形描边的宽度
+     * @param strokeWidth 分数图形描边的宽度
+     */
+    public void setStrokeWidth(float strokeWidth) {
+        this.strokeWidth = strokeWidth;
+    }
+
+    /**
+     * 设置禁用分数图形的描边
+     * @param disableStroke 是否禁用分数图形的描边
+     */
+    public void setDisableStroke(boolean disableStroke) {
+        this.disableStroke = disableStroke;
+    }
+
+    /**
+     * 设置是否显示
+     * @param visible 是否显示
+     */
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    float[] getScoreFractions() {
+        return scoreFractions;
+    }
+
+    public int getScoreCount() {
+        return scoreCount;
+    }
+
+    public int getColor() {
+        return color;
+    }
+
+    public int getStrokeColor() {
+        return strokeColor;
+    }
+
+    public float getStrokeWidth() {
+        return strokeWidth;
+    }
+
+    public boolean isDisableStroke() {
+        return disableStroke;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.Build;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 批量绘制蛛网评分图，在给定的线程池中并行的把每个SpiderWebChart绘制到一个Bitmap上，适合批量生成分享图、缩略图
+ * <br>每个线程复用一个SpiderWebRenderer和一个Canvas，Bitmap从池中获取，用完后通过recycleBitmap(Bitmap)还回池中即可复用
+ */
+public class SpiderWebBatchRenderer {
+    private final ExecutorService executor;
+    private final int width;
+    private final int height;
+    private final Bitmap.Config config;
+    private final int maxPoolSize;
+    private final LinkedList<Bitmap> bitmapPool = new LinkedList<Bitmap>();
+    private final ThreadLocal<SpiderWebRenderer> renderers = new ThreadLocal<SpiderWebRenderer>();
+    private final ThreadLocal<Canvas> canvases = new ThreadLocal<Canvas>();
+
+    /**
+     * @param executor 执行绘制任务的线程池
+     * @param width 每张图片的宽
+     * @param height 每张图片的高
+     * @param maxPoolSize Bitmap池最多缓存多少个Bitmap
+     */
+    public SpiderWebBatchRenderer(ExecutorService executor, int width, int height, int maxPoolSize) {
+        if(executor == null){
+            throw new IllegalArgumentException("executor Can't be null");
+        }
+        if(width <= 0 || height <= 0){
+            throw new IllegalArgumentException("width and height Can not be less than or equal to 0");
+        }
+        this.executor = executor;
+        this.width = width;
+        this.height = height;
+        this.config = Bitmap.Config.ARGB_8888;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * 提交一个绘制任务
+     * @param chart 蛛网评分图数据
+     * @return 可以通过Future获取绘制好的Bitmap
+     */
+    public Future<Bitmap> submit(final SpiderWebChart chart) {
+        if(chart == null){
+            throw new IllegalArgumentException("chart Can't be null");
+        }
+        return executor.submit(new Callable<Bitmap>() {
+            @Override
+            public Bitmap call() throws Exception {
+                return render(chart);
+            }
+        });
+    }
+
+    /**
+     * 并行绘制所有的蛛网评分图并等待全部完成，不能在主线程调用
+     * @param charts 蛛网评分图数据
+     * @return 和charts顺序一致的Bitmap列表
+     */
+    public List<Bitmap> renderAll(List<SpiderWebChart> charts) throws InterruptedException, ExecutionException {
+        List<Future<Bitmap>> futures = new ArrayList<Future<Bitmap>>(charts.size());
+        for(SpiderWebChart chart : charts){
+            futures.add(submit(chart));
+        }
+
+        List<Bitmap> bitmaps = new ArrayList<Bitmap>(futures.size());
+        for(Future<Bitmap> future : futures){
+            bitmaps.add(future.get());
+        }
+        return bitmaps;
+    }
+
+    /**
+     * 在当前线程中把蛛网评分图绘制到一个Bitmap上
+     * @param chart 蛛网评分图数据
+     */
+    public Bitmap render(SpiderWebChart chart) {
+        SpiderWebRenderer renderer = renderers.get();
+        if(renderer == null){
+            renderer = new SpiderWebRenderer();
+            renderer.setSize(width, height);
+            renderers.set(renderer);
+        }
+        renderer.setChart(chart);
+
+        Canvas canvas = canvases.get();
+        if(canvas == null){
+            canvas = new Canvas();
+            canvases.set(canvas);
+        }
+
+        Bitmap bitmap = obtainBitmap();
+        canvas.setBitmap(bitmap);
+        renderer.draw(canvas);
+        if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB){
+            // 绘制完就解除关联，否则Canvas会一直引用最后一个Bitmap，3.0以下不支持传null
+            canvas.setBitmap(null);
+        }
+        return bitmap;
+    }
+
+    /**
+     * 从池中获取一个Bitmap，池中没有时创建一个新的
+     */
+    private Bitmap obtainBitmap() {
+        Bitmap bitmap = null;
+        synchronized (bitmapPool){
+            if(!bitmapPool.isEmpty()){
+                bitmap = bitmapPool.removeFirst();
+            }
+        }
+
+        if(bitmap != null){
+            bitmap.eraseColor(Color.TRANSPARENT);
+            return bitmap;
+        }
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * 用完之后把Bitmap还回池中，以便后续的绘制任务复用，池满了或尺寸不一致时直接recycle
+     * @param bitmap 由此SpiderWebBatchRenderer绘制的Bitmap
+     */
+    public void recycleBitmap(Bitmap bitmap) {
+        if(bitmap == null || bitmap.isRecycled()){
+            return;
+        }
+
+        if(bitmap.getWidth() == width && bitmap.getHeight() == height && bitmap.getConfig() == config){
+            synchronized (bitmapPool){
+                if(bitmapPool.size() < maxPoolSize){
+                    bitmapPool.addLast(bitmap);
+                    return;
+                }
+            }
+        }
+        bitmap.recycle();
+    }
+
+    /**
+     * 清空Bitmap池
+     */
+    public void clearPool() {
+        synchronized (bitmapPool){
+            for(Bitmap bitmap : bitmapPool){
+                bitmap.recycle();
+            }
+            bitmapPool.clear();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import java.util.Arrays;
+
+/**
+ * 不可变的蛛网评分图数据，包含分数以及样式，配合SpiderWebScoreView.bind(SpiderWebChart)使用
+ * <br>适合在RecyclerView等列表中使用，bind时只会处理真正发生变化的部分
+ */
+public final class SpiderWebChart {
+    private final float maxScore;   // 最大分数
+    private final float[] scores;  // 分数列表
+    private final int hierarchyCount;  // 整个蛛网分多少层
+    private final int lineColor; // 蛛网线条的颜色
+    private final float lineWidth; // 蛛网线条的宽度
+    private final int scoreColor; // 分数图形的颜色
+    private final int scoreStrokeColor; // 分数图形描边的颜色
+    private final float scoreStrokeWidth; // 分数图形描边的宽度
+    private final boolean disableScoreStroke; // 禁用分数图形的描边
+
+    private SpiderWebChart(Builder builder) {
+        this.maxScore = builder.maxScore;
+        this.scores = builder.scores.clone();
+        this.hierarchyCount = builder.hierarchyCount;
+        this.lineColor = builder.lineColor;
+        this.lineWidth = builder.lineWidth;
+        this.scoreColor = builder.scoreColor;
+        this.scoreStrokeColor = builder.scoreStrokeColor;
+        this.scoreStrokeWidth = builder.scoreStrokeWidth;
+        this.disableScoreStroke = builder.disableScoreStroke;
+    }
+
+    public float getMaxScore() {
+        return maxScore;
+    }
+
+    /**
+     * 获取分数的个数，也就是角的个数
+     */
+    public int getScoreCount() {
+        return scores.length;
+    }
+
+    /**
+     * 获取指定位置的分数
+     * @param index 位置
+     */
+    public float getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * 获取分数列表的拷贝
+     */
+    public float[] getScores() {
+        return scores.clone();
+    }
+
+    /**
+     * 直接返回内部的分数数组，调用方不能修改
+     */
+    float[] getScoresInternal() {
+        return scores;
+    }
+
+    public int getHierarchyCount() {
+        return hierarchyCount;
+    }
+
+    public int getLineColor() {
+        return lineColor;
+    }
+
+    public float getLineWidth() {
+        return lineWidth;
+    }
+
+    public int getScoreColor() {
+        return scoreColor;
+    }
+
+    public int getScoreStrokeColor() {
+        return scoreStrokeColor;
+    }
+
+    public float getScoreStrokeWidth() {
+        return scoreStrokeWidth;
+    }
+
+    public boolean isDisableScoreStroke() {
+        return disableScoreStroke;
+    }
+
+    /**
+     * 基于当前数据创建一个Builder，用于修改部分属性
+     */
+    public Builder newBuilder() {
+        return new Builder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SpiderWebChart that = (SpiderWebChart) o;
+        return Float.compare(that.maxScore, maxScore) == 0
+                && hierarchyCount == that.hierarchyCount
+                && lineColor == that.lineColor
+                && Float.compare(that.lineWidth, lineWidth) == 0
+                && scoreColor == that.scoreColor
+                && scoreStrokeColor == that.scoreStrokeColor
+                && Float.compare(that.scoreStrokeWidth, scoreStrokeWidth) == 0
+                && disableScoreStroke == that.disableScoreStroke
+                && Arrays.equals(scores, that.scores);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Float.floatToIntBits(maxScore);
+        result = 31 * result + Arrays.hashCode(scores);
+        result = 31 * result + hierarchyCount;
+        result = 31 * result + lineColor;
+        result = 31 * result + Float.floatToIntBits(lineWidth);
+        result = 31 * result + scoreColor;
+        result = 31 * result + scoreStrokeColor;
+        result = 31 * result + Float.floatToIntBits(scoreStrokeWidth);
+        result = 31 * result + (disableScoreStroke ? 1 : 0);
+        return result;
+    }
+
+    public static class Builder {
+        private float maxScore;
+        private float[] scores;
+        private int hierarchyCount = 5;
+        private int lineColor = 0xFF000000;
+        private float lineWidth = -1;
+        private int scoreColor = 0x80F65801;
+        private int scoreStrokeColor = 0xFFF65801;
+        private float scoreStrokeWidth = -1;
+        private boolean disableScoreStroke;
+
+        /**
+         * @param maxScore 最大分数
+         * @param scores 分数，有多少个分数就有多少个角
+         */
+        public Builder(float maxScore, float[] scores) {
+            setScores(maxScore, scores);
+        }
+
+        private Builder(SpiderWebChart chart) {
+            this.maxScore = chart.maxScore;
+            this.scores = chart.scores;
+            this.hierarchyCount = chart.hierarchyCount;
+            this.lineColor = chart.lineColor;
+            this.lineWidth = chart.lineWidth;
+            this.scoreColor = chart.scoreColor;
+            this.scoreStrokeColor = chart.scoreStrokeColor;
+            this.scoreStrokeWidth = chart.scoreStrokeWidth;
+            this.disableScoreStroke = chart.disableScoreStroke;
+        }
+
+        /**
+         * 设置分数，build()时会拷贝一份
+         * @param maxScore 最大分数
+         * @param scores 分数，有多少个分数就有多少个角
+         */
+        public Builder setScores(float maxScore, float[] scores) {
+            if(maxScore <= 0){
+                throw new IllegalArgumentException("maxScore Can not be less than or equal to 0");
+            }
+            if(scores == null || scores.length <= 2){
+                throw new IllegalArgumentException("scores Can't be null and length Can not be less than or equal to 2");
+            }
+            this.maxScore = maxScore;
+            this.scores = scores;
+            return this;
+        }
+
+        public Builder setHierarchyCount(int hierarchyCount) {
+            if(hierarchyCount <= 0){
+                throw new IllegalArgumentException("hierarchyCount Can not be less than or equal to 0");
+            }
+            this.hierarchyCount = hierarchyCount;
+            return this;
+        }
+
+        public Builder setLineColor(int lineColor) {
+            this.lineColor = lineColor;
+            return this;
+        }
+
+        public Builder setLineWidth(float lineWidth) {
+            this.lineWidth = lineWidth;
+            return this;
+        }
+
+        public Builder setScoreColor(int scoreColor) {
+            this.scoreColor = scoreColor;
+            return this;
+        }
+
+        public Builder setScoreStrokeColor(int scoreStrokeColor) {
+            this.scoreStrokeColor = scoreStrokeColor;
+            return this;
+        }
+
+        public Builder setScoreStrokeWidth(float scoreStrokeWidth) {
+            this.scoreStrokeWidth = scoreStrokeWidth;
+            return this;
+        }
+
+        public Builder setDisableScoreStroke(boolean disableScoreStroke) {
+            this.disableScoreStroke = disableScoreStroke;
+            return this;
+        }
+
+        public SpiderWebChart build() {
+            return new SpiderWebChart(this);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+/**
+ * 蛛网评分图Drawable，可以作为ImageView的图片、View的背景或者TextView的CompoundDrawable使用，不需要在布局中添加额外的View
+ * <br>绘制委托给SpiderWebRenderer完成，和SpiderWebScoreView的绘制结果完全一致，蛛网图形会居中绘制在bounds中
+ * <br>支持setAlpha(int)和setColorFilter(ColorFilter)，开启setLevelScaleEnabled(boolean)后还可以通过setLevel(int)按比例缩放所有的分数
+ */
+public class SpiderWebDrawable extends Drawable {
+    private static final int MAX_LEVEL = 10000;
+
+    private SpiderWebRenderer renderer;
+    private int intrinsicWidth = -1;
+    private int intrinsicHeight = -1;
+
+    private int alpha = 255;
+    private ColorFilter colorFilter;
+    private Paint layerPaint;  // 有透明度或颜色过滤时先绘制到图层上，再通过这个画笔合成
+    private RectF layerBounds = new RectF();
+
+    private float maxScore = 10f;
+    private float[] scores;  // 原始的分数，缩放时以此为准
+    private int scoreCount;
+    private float[] scaledScores = new float[0];  // 按level缩放后的分数，预先分配避免每次setLevel都创建数组
+    private boolean levelScaleEnabled;
+
+    public SpiderWebDrawable() {
+        this(null);
+    }
+
+    /**
+     * @param style 共享的样式，为null时使用自己的画笔
+     */
+    public SpiderWebDrawable(SpiderWebStyle style) {
+        renderer = new SpiderWebRenderer(style);
+    }
+
+    /**
+     * 获取绘制器，可以通过它设置SpiderWebDrawable没有直接提供的属性，修改之后需要调用invalidateSelf()刷新
+     */
+    public SpiderWebRenderer getRenderer() {
+        return renderer;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        if(scores == null){
+            return;
+        }
+
+        boolean useLayer = alpha < 255 || colorFilter != null;
+        int saveCount = 0;
+        if(useLayer){
+            if(layerPaint == null){
+                layerPaint = new Paint();
+            }
+            layerPaint.setAlpha(alpha);
+            layerPaint.setColorFilter(colorFilter);
+            layerBounds.set(getBounds());
+            saveCount = canvas.saveLayer(layerBounds, layerPaint, Canvas.ALL_SAVE_FLAG);
+        }
+
+        renderer.draw(canvas);
+
+        if(useLayer){
+            canvas.restoreToCount(saveCount);
+        }
+
+        if(renderer.isScoreAnimating()){
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        renderer.setBounds(bounds.left, bounds.top, bounds.right, bounds.bottom);
+    }
+
+    @Override
+    protected boolean onLevelChange(int level) {
+        if(!levelScaleEnabled || scores == null){
+            return false;
+        }
+        return applyScores(false);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        if(this.alpha == alpha){
+            return;
+        }
+        this.alpha = alpha;
+        invalidateSelf();
+    }
+
+    @Override
+    public int getAlpha() {
+        return alpha;
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        if(this.colorFilter == colorFilter){
+            return;
+        }
+        this.colorFilter = colorFilter;
+        invalidateSelf();
+    }
+
+    @Override
+    public ColorFilter getColorFilter() {
+        return colorFilter;
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return intrinsicWidth;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return intrinsicHeight;
+    }
+
+    /**
+     * 设置固有尺寸，作为ImageView的图片（wrap_content）或者TextView的CompoundDrawable使用时需要设置，默认为-1，也就是没有固有尺寸
+     * @param intrinsicWidth 宽
+     * @param intrinsicHeight 高
+     */
+    public void setIntrinsicSize(int intrinsicWidth, int intrinsicHeight) {
+        this.intrinsicWidth = intrinsicWidth;
+        this.intrinsicHeight = intrinsicHeight;
+    }
+
+    /**
+     * 设置分数
+     * @param maxScore 最大分数
+     * @param scores 分数，有多少个分数蛛网就有多少个角
+     */
+    public void setScores(float maxScore, float[] scores) {
+        setScores(maxScore, scores, false);
+    }
+
+    /**
+     * 设置分数
+     * @param maxScore 最大分数
+     * @param scores 分数，有多少个分数蛛网就有多少个角
+     * @param animate 是否以动画的方式从当前的分数过渡到新的分数
+     */
+    public void setScores(float maxScore, float[] scores, boolean animate) {
+        if(scores == null || scores.length == 0){
+            throw new IllegalArgumentException("scores Can't be null or empty");
+        }
+        saveScores(maxScore, scores);
+        if(applyScores(animate)){
+            invalidateSelf();
+        }
+    }
+
+    /**
+     * 设置蛛网评分图数据，会和当前的状态逐项对比，没有变化时不会重新绘制
+     * @param chart 蛛网评分图数据
+     */
+    public void setChart(SpiderWebChart chart) {
+        if(chart == null){
+            throw new IllegalArgumentException("chart Can't be null");
+        }
+        saveScores(chart.getMaxScore(), chart.getScoresInternal());
+        boolean changed;
+        if(levelScaleEnabled){
+            // 分数要先按level缩放，所以不能交给renderer.setChart(SpiderWebChart)，否则会先换算一遍没有缩放的分数
+            changed = applyChartStyle(chart);
+            if(applyScores(false)){
+                changed = true;
+            }
+        }else{
+            changed = renderer.setChart(chart);
+        }
+        if(changed){
+            invalidateSelf();
+        }
+    }
+
+    /**
+     * 把分数以外的数据交给绘制器
+     * @return false：没有变化
+     */
+    private boolean applyChartStyle(SpiderWebChart chart) {
+        boolean changed = renderer.setHierarchyCount(chart.getHierarchyCount());
+        changed |= renderer.setLineColor(chart.getLineColor());
+        changed |= renderer.setLineWidth(chart.getLineWidth());
+        changed |= renderer.setScoreColor(chart.getScoreColor());
+        changed |= renderer.setScoreStrokeColor(chart.getScoreStrokeColor());
+        changed |= renderer.setScoreStrokeWidth(chart.getScoreStrokeWidth());
+        changed |= renderer.setDisableScoreStroke(chart.isDisableScoreStroke());
+        return changed;
+    }
+
+    /**
+     * 设置是否通过setLevel(int)缩放分数，开启后所有的分数都会乘以level / 10000，适合配合LevelListDrawable或属性动画做进度效果，默认关闭
+     * <br>Drawable默认的level是0，开启后记得设置level，否则分数图形会缩成一个点
+     * @param levelScaleEnabled 是否开启
+     */
+    public void setLevelScaleEnabled(boolean levelScaleEnabled) {
+        if(this.levelScaleEnabled == levelScaleEnabled){
+            return;
+        }
+        this.levelScaleEnabled = levelScaleEnabled;
+        if(scores != null && applyScores(false)){
+            invalidateSelf();
+        }
+    }
+
+    public boolean isLevelScaleEnabled() {
+        return levelScaleEnabled;
+    }
+
+    /**
+     * 使用共享的样式，多个样式相同的SpiderWebDrawable共用同一组画笔
+     * @param style 共享的样式，为null时改回使用自己的画笔
+     */
+    public void setStyle(SpiderWebStyle style) {
+        if(renderer.setStyle(style)){
+            invalidateSelf();
+        }
+    }
+
+    public void setHierarchyCount(int hierarchyCount) {
+        if(renderer.setHierarchyCount(hierarchyCount)){
+            invalidateSelf();
+        }
+    }
+
+    public void setLineColor(int lineColor) {
+        if(renderer.setLineColor(lineColor)){
+            invalidateSelf();
+        }
+    }
+
+    public void setLineWidth(float lineWidth) {
+        if(renderer.setLineWidth(lineWidth)){
+            invalidateSelf();
+        }
+    }
+
+    public void setScoreColor(int scoreColor) {
+        if(renderer.setScoreColor(scoreColor)){
+            invalidateSelf();
+        }
+    }
+
+    public void setScoreStrokeColor(int scoreStrokeColor) {
+        if(renderer.setScoreStrokeColor(scoreStrokeColor)){
+            invalidateSelf();
+        }
+    }
+
+    public void setScoreStrokeWidth(float scoreStrokeWidth) {
+        if(renderer.setScoreStrokeWidth(scoreStrokeWidth)){
+            invalidateSelf();
+        }
+    }
+
+    public void setDisableScoreStroke(boolean disableScoreStroke) {
+        if(renderer.setDisableScoreStroke(disableScoreStroke)){
+            invalidateSelf();
+        }
+    }
+
+    /**
+     * 保存原始的分数，分数的个数不变时复用数组
+     */
+    private void saveScores(float maxScore, float[] scores) {
+        this.maxScore = maxScore;
+        if(this.scores == null || this.scores.length < scores.length){
+            this.scores = new float[scores.length];
+        }
+        System.arraycopy(scores, 0, this.scores, 0, scores.length);
+        scoreCount = scores.length;
+    }
+
+    /**
+     * 把原始的分数按level缩放后交给绘制器
+     * @return false：没有变化
+     */
+    private boolean applyScores(boolean animate) {
+        if(!levelScaleEnabled){
+            return renderer.setScores(maxScore, scores, scoreCount, animate);
+        }
+
+        if(scaledScores.length < scoreCount){
+            scaledScores = new float[scoreCount];
+        }
+        float scale = (float) getLevel() / MAX_LEVEL;
+        for(int w = 0; w < scoreCount; w++){
+            scaledScores[w] = scores[w] * scale;
+        }
+        return renderer.setScores(maxScore, scaledScores, scoreCount, animate);
+    }
+}
@@ -0,0 +1,490 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.widget.OverScroller;
+
+/**
+ * 在一个View中以网格的形式显示大量蛛网评分图（小多图），适合同时对比几十上百组分数的场景，用来代替大量的SpiderWebScoreView
+ * <br>所有的格子共用一个SpiderWebRenderer，蛛网在每种格子尺寸下只绘制一次并缓存，每个格子只绘制分数图形；只绘制可见的格子，支持上下滚动和惯性滑动
+ * <br>每个图形的比例在设置分数时就换算好并缓存起来，绘制时直接绑定给绘制器，滚动时不会重复换算
+ * <br>所有图形的分数存放在一个扁平的数组中，第i个图形的分数从i * scoreCount开始
+ * <br>GridView自己处理滚动，不要放在ScrollView中，高度不受限制时最多只有一屏高
+ */
+public class SpiderWebGridView extends View {
+    private static final int DEFAULT_CELL_SIZE_DP = 96;  // 宽度不受限制时每个格子的边长
+
+    private SpiderWebRenderer renderer;
+    private int columnCount = 3;  // 每行有多少个格子
+    private int cellSpacing;  // 格子之间的间距
+    private int cellSize;  // 格子的边长，由宽度和列数计算得出
+
+    private float maxScore = 10f;
+    private float[] fractions = new float[0];  // 所有图形换算好的比例，和分数一样第i个图形从i * scoreCount开始
+    private int scoreCount;  // 每个图形的分数的个数
+    private int chartCount;  // 图形的个数
+
+    private OverScroller scroller;
+    private VelocityTracker velocityTracker;
+    private int touchSlop;
+    private int minimumFlingVelocity;
+    private int maximumFlingVelocity;
+    private float downX;
+    private float downY;
+    private float lastTouchY;
+    private boolean dragging;
+    private OnCellClickListener onCellClickListener;
+
+    public SpiderWebGridView(Context context) {
+        super(context);
+        init(context);
+    }
+
+    public SpiderWebGridView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init(context);
+    }
+
+    public SpiderWebGridView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context);
+    }
+
+    private void init(Context context) {
+        renderer = new SpiderWebRenderer();
+        renderer.setGridCacheEnabled(true);
+        renderer.setSharedGeometryEnabled(true);
+
+        cellSpacing = (int) (context.getResources().getDisplayMetrics().density * 8 + 0.5f);
+        scroller = new OverScroller(context);
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        touchSlop = configuration.getScaledTouchSlop();
+        minimumFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maximumFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        // 宽度不受限制时（例如放在HorizontalScrollView中）没法按列数平分，按默认的格子边长计算
+        int width = getDefaultSize(computeDefaultWidth(), widthMeasureSpec);
+        computeCellSize(width);
+        setMeasuredDimension(width, measureHeight(heightMeasureSpec));
+    }
+
+    /**
+     * 高度最多为所有行的高度；GridView自己负责滚动，所以高度不受限制时（例如放在ScrollView中）也不能和内容一样高，
+     * 否则所有的格子都会被当作可见的格子绘制，硬件加速时还会创建一个巨大的图层，这时最多只有一屏高
+     */
+    private int measureHeight(int heightMeasureSpec) {
+        int contentHeight = computeContentHeight();
+        if(MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.UNSPECIFIED){
+            return Math.max(Math.min(contentHeight, getResources().getDisplayMetrics().heightPixels), getSuggestedMinimumHeight());
+        }
+        return resolveSize(contentHeight, heightMeasureSpec);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        computeCellSize(w);
+        scrollTo(getScrollX(), getScrollY());
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        renderer.releaseGridCache();
+        scroller.abortAnimation();
+    }
+
+    /**
+     * 根据宽度和列数计算格子的边长，边长变化时蛛网缓存会重新绘制一次
+     */
+    private void computeCellSize(int width) {
+        int availableWidth = width - getPaddingLeft() - getPaddingRight() - cellSpacing * (columnCount - 1);
+        int newCellSize = Math.max(availableWidth / columnCount, 0);
+        if(cellSize != newCellSize){
+            cellSize = newCellSize;
+            renderer.setSize(cellSize, cellSize);
+        }
+    }
+
+    /**
+     * 宽度不受限制时使用的宽度，每个格子的边长为DEFAULT_CELL_SIZE_DP
+     */
+    private int computeDefaultWidth() {
+        int defaultCellSize = (int) (getResources().getDisplayMetrics().density * DEFAULT_CELL_SIZE_DP + 0.5f);
+        return Math.max(getPaddingLeft() + defaultCellSize * columnCount + cellSpacing * (columnCount - 1) + getPaddingRight(),
+                getSuggestedMinimumWidth());
+    }
+
+    private int getRowCount() {
+        return (chartCount + columnCount - 1) / columnCount;
+    }
+
+    private int computeContentHeight() {
+        int rowCount = getRowCount();
+        int rowsHeight = rowCount > 0 ? rowCount * cellSize + (rowCount - 1) * cellSpacing : 0;
+        return getPaddingTop() + rowsHeight + getPaddingBottom();
+    }
+
+    private int getMaxScrollY() {
+        return Math.max(computeContentHeight() - getHeight(), 0);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if(chartCount == 0 || cellSize <= 0){
+            return;
+        }
+
+        // 只绘制可见的行
+        int rowHeight = cellSize + cellSpacing;
+        int scrollY = getScrollY();
+        int firstRow = Math.max((scrollY - getPaddingTop()) / rowHeight, 0);
+        int lastRow = Math.min((scrollY + getHeight() - getPaddingTop()) / rowHeight, getRowCount() - 1);
+
+        int index;
+        int saveCount;
+        for(int row = firstRow; row <= lastRow; row++){
+            for(int column = 0; column < columnCount; column++){
+                index = row * columnCount + column;
+                if(index >= chartCount){
+                    break;
+                }
+
+                renderer.bindFractions(fractions, index * scoreCount, scoreCount);
+
+                saveCount = canvas.save();
+                canvas.translate(getPaddingLeft() + column * (cellSize + cellSpacing), getPaddingTop() + row * rowHeight);
+                renderer.draw(canvas);
+                canvas.restoreToCount(saveCount);
+            }
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if(!isEnabled()){
+            return super.onTouchEvent(event);
+        }
+
+        if(velocityTracker == null){
+            velocityTracker = VelocityTracker.obtain();
+        }
+        velocityTracker.addMovement(event);
+
+        switch (event.getActionMasked()){
+            case MotionEvent.ACTION_DOWN:
+                if(!scroller.isFinished()){
+                    scroller.abortAnimation();
+                }
+                downX = event.getX();
+                downY = event.getY();
+                lastTouchY = downY;
+                dragging = false;
+                return true;
+            case MotionEvent.ACTION_MOVE:
+                float y = event.getY();
+                if(!dragging && Math.abs(y - downY) > touchSlop){
+                    dragging = true;
+                    // 开始滚动后不让父View拦截
+                    if(getParent() != null){
+                        getParent().requestDisallowInterceptTouchEvent(true);
+                    }
+                }
+                if(dragging){
+                    scrollBy(0, (int) (lastTouchY - y));
+                    lastTouchY = y;
+                }
+                return true;
+            case MotionEvent.ACTION_UP:
+                if(dragging){
+                    velocityTracker.computeCurrentVelocity(1000, maximumFlingVelocity);
+                    int velocityY = (int) velocityTracker.getYVelocity();
+                    if(Math.abs(velocityY) > minimumFlingVelocity){
+                        fling(-velocityY);
+                    }
+                }else{
+                    performClick();
+                    dispatchCellClick(downX, downY);
+                }
+                recycleVelocityTracker();
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                dragging = false;
+                recycleVelocityTracker();
+                return true;
+            default:
+                return super.onTouchEvent(event);
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    private void recycleVelocityTracker() {
+        if(velocityTracker != null){
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+    }
+
+    private void dispatchCellClick(float x, float y) {
+        if(onCellClickListener == null){
+            return;
+        }
+        int index = findCell(x, y);
+        if(index < 0){
+            return;
+        }
+        onCellClickListener.onCellClick(this, index, findAxis(index, x, y));
+    }
+
+    /**
+     * 以给定的速度惯性滑动
+     * @param velocityY 速度，单位像素/秒，正数向下滚动
+     */
+    public void fling(int velocityY) {
+        scroller.fling(getScrollX(), getScrollY(), 0, velocityY, 0, 0, 0, getMaxScrollY());
+        invalidate();
+    }
+
+    @Override
+    public void computeScroll() {
+        if(scroller.computeScrollOffset()){
+            scrollTo(scroller.getCurrX(), scroller.getCurrY());
+            invalidate();
+        }
+    }
+
+    @Override
+    public void scrollTo(int x, int y) {
+        super.scrollTo(x, Math.max(Math.min(y, getMaxScrollY()), 0));
+    }
+
+    @Override
+    protected int computeVerticalScrollRange() {
+        return computeContentHeight();
+    }
+
+    @Override
+    protected int computeVerticalScrollOffset() {
+        return getScrollY();
+    }
+
+    @Override
+    protected int computeVerticalScrollExtent() {
+        return getHeight();
+    }
+
+    /**
+     * 查找给定的点落在哪个格子中，不会创建任何对象
+     * @param x 点的X坐标，相对于View的左上角，不包含滚动的距离
+     * @param y 点的Y坐标
+     * @return 第几个图形，点在格子之间的间距或者所有格子之外时返回-1
+     */
+    public int findCell(float x, float y) {
+        if(cellSize <= 0){
+            return -1;
+        }
+        float contentX = x - getPaddingLeft();
+        float contentY = y + getScrollY() - getPaddingTop();
+        if(contentX < 0 || contentY < 0){
+            return -1;
+        }
+
+        int step = cellSize + cellSpacing;
+        int column = (int) (contentX / step);
+        int row = (int) (contentY / step);
+        if(column >= columnCount || contentX - column * step >= cellSize || contentY - row * step >= cellSize){
+            return -1;
+        }
+        int index = row * columnCount + column;
+        return index < chartCount ? index : -1;
+    }
+
+    /**
+     * 查找给定的点落在指定格子的哪个角的扇区中，所有的格子共用同一份几何数据，因此和格子的个数无关
+     * @param index 第几个图形
+     * @param x 点的X坐标，相对于View的左上角，不包含滚动的距离
+     * @param y 点的Y坐标
+     * @return 第几个角，点在蛛网之外时返回-1
+     */
+    public int findAxis(int index, float x, float y) {
+        if(index < 0 || index >= chartCount){
+            return -1;
+        }
+        float cellLeft = getPaddingLeft() + (index % columnCount) * (cellSize + cellSpacing);
+        float cellTop = getPaddingTop() + (index / columnCount) * (cellSize + cellSpacing) - getScrollY();
+        return renderer.findAxis(x - cellLeft, y - cellTop);
+    }
+
+    /**
+     * 设置所有图形的分数
+     * @param maxScore 最大分数
+     * @param scores 所有图形的分数，第i个图形的分数从i * scoreCount开始，会立即换算成比例缓存起来，之后修改数组不会影响显示
+     * @param scoreCount 每个图形的分数的个数，也就是角的个数
+     * @param chartCount 图形的个数
+     */
+    public void setScores(float maxScore, float[] scores, int scoreCount, int chartCount) {
+        if(maxScore <= 0){
+            throw new IllegalArgumentException("maxScore Can not be less than or equal to 0");
+        }
+        if(scoreCount <= 0 || chartCount < 0){
+            throw new IllegalArgumentException("scoreCount must be greater than 0 and chartCount Can not be less than 0");
+        }
+        if(scores == null || scores.length < scoreCount * chartCount){
+            throw new IllegalArgumentException("scores Can't be null and scores.length Can not be less than scoreCount * chartCount");
+        }
+
+        int size = scoreCount * chartCount;
+        fractions = SpiderWebRenderer.ensureCapacity(fractions, size);
+        for(int w = 0; w < size; w++){
+            fractions[w] = scores[w] / maxScore;
+        }
+        this.maxScore = maxScore;
+        this.scoreCount = scoreCount;
+        boolean heightChanged = this.chartCount != chartCount;
+        this.chartCount = chartCount;
+
+        if(heightChanged){
+            requestLayout();
+            scrollTo(getScrollX(), getScrollY());
+        }
+        invalidate();
+    }
+
+    /**
+     * 只修改一个图形的分数，只重新换算这一个图形的比例，其它的格子不受影响
+     * @param index 第几个图形
+     * @param scores 这个图形的分数，个数必须和setScores(float, float[], int, int)中的scoreCount一致
+     */
+    public void setChartScores(int index, float[] scores) {
+        if(index < 0 || index >= chartCount){
+            throw new IllegalArgumentException("index out of range: " + index);
+        }
+        if(scores == null || scores.length != scoreCount){
+            throw new IllegalArgumentException("scores Can't be null and scores.length must be equal to scoreCount");
+        }
+
+        int offset = index * scoreCount;
+        for(int w = 0; w < scoreCount; w++){
+            fractions[offset + w] = scores[w] / maxScore;
+        }
+        invalidate();
+    }
+
+    public int getChartCount() {
+        return chartCount;
+    }
+
+    /**
+     * 设置每行有多少个格子，默认为3
+     * @param columnCount 每行有多少个格子
+     */
+    public void setColumnCount(int columnCount) {
+        if(columnCount <= 0){
+            throw new IllegalArgumentException("columnCount Can not be less than or equal to 0");
+        }
+        if(this.columnCount == columnCount){
+            return;
+        }
+        this.columnCount = columnCount;
+        requestLayout();
+        invalidate();
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * 设置格子之间的间距，默认为8dp
+     * @param cellSpacing 格子之间的间距
+     */
+    public void setCellSpacing(int cellSpacing) {
+        if(this.cellSpacing == cellSpacing){
+            return;
+        }
+        this.cellSpacing = cellSpacing;
+        requestLayout();
+        invalidate();
+    }
+
+    public int getCellSpacing() {
+        return cellSpacing;
+    }
+
+    /**
+     * 使用共享的样式，多个SpiderWebGridView或SpiderWebScoreView可以共用同一组画笔
+     * @param style 共享的样式，为null时改回使用自己的画笔
+     */
+    public void setStyle(SpiderWebStyle style) {
+        if(renderer.setStyle(style)){
+            invalidate();
+        }
+    }
+
+    /**
+     * 设置蛛网有多少层，默认为5
+     * @param hierarchyCount 层数
+     */
+    public void setHierarchyCount(int hierarchyCount) {
+        if(renderer.setHierarchyCount(hierarchyCount)){
+            invalidate();
+        }
+    }
+
+    /**
+     * 获取所有格子共用的绘制器，可以通过它设置其它样式，修改之后需要调用invalidate()刷新
+     */
+    public SpiderWebRenderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * 设置点击格子的监听器
+     * @param onCellClickListener 点击格子的监听器
+     */
+    public void setOnCellClickListener(OnCellClickListener onCellClickListener) {
+        this.onCellClickListener = onCellClickListener;
+    }
+
+    /**
+     * 点击格子的监听器
+     */
+    public interface OnCellClickListener {
+        /**
+         * 点击了某个格子
+         * @param view SpiderWebGridView
+         * @param index 第几个图形
+         * @param axis 点击的位置落在第几个角的扇区中，在蛛网之外时为-1
+         */
+        void onCellClick(SpiderWebGridView view, int index, int axis);
+    }
+}
@@ -0,0 +1,1731 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.view.animation.AnimationUtils;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import me.panpf.swsv.core.RadarDecimation;
+import me.panpf.swsv.core.RadarGeometry;
+import me.panpf.swsv.core.RadarGeometryCache;
+import me.panpf.swsv.core.RadarScale;
+
+/**
+ * 蛛网评分图的绘制器，不依赖View，可以把蛛网评分图绘制到任意Canvas的指定区域上
+ * <br>SpiderWebScoreView的绘制也是委托给它完成的，因此两者绘制的结果完全一致
+ * <br>SpiderWebRenderer不是线程安全的，但一个实例只在一个线程中使用时可以在任意线程（包括后台线程）中绘制，例如绘制到Bitmap上生成分享图
+ */
+public class SpiderWebRenderer {
+    private int angleCount = 5; // 整个蛛网有几个角
+    private int hierarchyCount = 5;  // 整个蛛网分多少层（例如最大分数是10分，分5层，那么每层就代表2分）
+    private int lineColor = 0xFF000000; // 蛛网线条的颜色
+    private float lineWidth = -1; // 蛛网线条的宽度
+
+    private float maxScore = 10f;   // 最大分数
+    private float[] scores;  // 分数列表，保存的是调用方数组的拷贝
+    private int scoreColor = 0x80F65801; // 分数图形的颜色
+    private int scoreStrokeColor = 0xFFF65801; // 分数图形描边的颜色
+    private float scoreStrokeWidth = -1; // 分数图形描边的宽度
+    private boolean disableScoreStroke; // 禁用分数图形的描边
+    private Paint scorePaint;
+    private Paint scoreStrokePaint;
+    private RadarScale scoreScale;  // 分数刻度，不为null并且角的个数一致时代替maxScore换算比例
+    private float[] scoreFractions = new float[0];  // 当前绘制的每个分数占最大分数的比例
+    private int scoreFractionCount;  // scoreFractions中有效的个数
+
+    private long scoreAnimationDuration = 300;   // 分数动画的时长，单位毫秒
+    private Interpolator scoreInterpolator = new DecelerateInterpolator();  // 分数动画的插值器
+    private float[] animationStartFractions = new float[0];  // 动画开始时每个角的比例，预先分配避免每帧创建对象
+    private float[] animationEndFractions = new float[0];    // 动画结束时每个角的比例
+    private long scoreAnimationStartTime;
+    private boolean scoreAnimating;
+
+    private List<ScoreSeries> scoreSeriesList = new ArrayList<ScoreSeries>();  // 叠加显示的多组分数
+    private Paint seriesPaint;  // 所有ScoreSeries共用的画笔，绘制前设置成对应的颜色
+    private Paint seriesStrokePaint;  // 所有ScoreSeries共用的描边画笔
+
+    private int left;   // 绘制区域
+    private int top;
+    private int width;
+    private int height;
+    private float centerX;    // 中心点X坐标
+    private float centerY;    // 中心点Y坐标
+    private float radius; // 整个蛛网图的半径
+    private Paint linePaint;
+    private Path path;
+    private RadarGeometry geometry = new RadarGeometry();   // 几何数据缓存，避免每帧都计算三角函数
+    private boolean sharedGeometryEnabled;  // 是否从进程内共享的RadarGeometryCache中获取几何数据
+    private SpiderWebStyle style;  // 共享的样式，不为null时linePaint、scorePaint、scoreStrokePaint都是共享的，修改之前要先拷贝一份
+    private float[] scorePoints = new float[0];  // 分数图形的顶点坐标，按[角][x, y]排列
+    private boolean geometryDirty = true;   // 尺寸、角的个数或层数变化后标记，在下次绘制前统一重新计算一次几何数据
+    private RectF drawnScoreBounds = new RectF();  // 上一次绘制的分数图形的范围，用于计算只有分数变化时需要刷新的区域
+    private boolean drawnScoreBoundsValid;
+    private RectF dirtyScoreBounds = new RectF();
+
+    private boolean gridCacheEnabled;  // 是否将蛛网（层和线）缓存到离屏Bitmap中
+    private boolean gridCacheDirty = true;    // 蛛网缓存是否需要重新绘制
+    private Bitmap gridCacheBitmap;
+    private Canvas gridCacheCanvas;
+
+    private boolean batchDrawEnabled;  // 是否把所有的层合并成一个Path、所有的线合并成一次drawLines绘制
+    private Path gridPath;  // 合并后的所有层，几何数据变化时重新创建
+    private float[] spokePoints = new float[0];  // 合并后的所有线，按[角][startX, startY, stopX, stopY]排列
+    private boolean batchPrimitivesDirty = true;
+    private int spokePointCount;  // spokePoints中有效的个数
+    private int drawCallCount;  // 本次绘制调用Canvas绘制方法的次数
+    private int lastDrawCallCount;
+
+    private boolean levelOfDetailEnabled;  // 角特别多时是否抽稀绘制
+    private float levelOfDetailSpacing = 1f;  // 相邻两个角在最外层上的距离小于这个值时开始抽稀
+    private int axisStep = 1;  // 抽稀的步长，只有尺寸或角的个数变化时才重新计算
+    private int[] scoreIndices = new int[0];  // 分数图形抽稀后保留的角，只有分数或步长变化时才重新计算
+    private int scoreIndexCount;
+    private boolean scoreIndicesDirty = true;
+
+    private int highlightedAxis = -1;  // 高亮显示的角，-1表示没有
+    private int highlightColor = 0xFFF65801;  // 高亮的颜色
+    private float highlightWidth = 3;  // 高亮的线条宽度
+    private Paint highlightPaint;
+    private float[] scoreVertexPoints = new float[0];  // 主分数图形所有顶点的坐标，绘制和点击检测共用，只有分数、动画或几何数据变化后才重新计算，单个分数变化时只修改一个顶点
+    private boolean scoreVertexPointsDirty = true;
+    private RectF vertexDirtyBounds = new RectF();  // 上次绘制之后通过updateScore()修改的顶点需要刷新的区域
+    private int vertexDirtyState = VERTEX_DIRTY_NONE;
+
+    private DrawMetrics.Listener drawMetricsListener;  // 绘制统计的回调，为null时不统计
+    private DrawMetrics drawMetrics;
+    private boolean timing;   // 本次绘制是否统计耗时
+    private boolean tracing;  // 本次绘制是否开启了系统跟踪
+    private int pendingInvalidateCount;  // 上一次绘制之后请求刷新的次数
+
+    private CharSequence[] labels;  // 每个角外面的文案
+    private Drawable[] labelIcons;  // 每个文案右边的图标
+    private TextPaint labelPaint;
+    private float labelSpacing = 16;  // 文案与蛛网之间的间距
+    private float labelIconPadding = 8;  // 文案和图标之间的间距
+    private StaticLayout[] labelLayouts;  // 缓存的文案排版，只有文案或者样式变化时才重新创建
+    private float[] labelSizes = new float[0];  // 每个文案（包括图标）的尺寸，按[角][width, height]排列
+    private float[] labelPositions = new float[0];  // 每个文案的左上角坐标，按[角][left, top]排列
+    private float[] labelPosition = new float[2];
+    private float labelExtent;  // 文案在蛛网外面占用的最大尺寸
+    private boolean labelLayoutsDirty;
+    private boolean labelPositionsDirty;
+
+    private static final int VERTEX_DIRTY_NONE = 0;  // 上次绘制之后没有修改过单个顶点
+    private static final int VERTEX_DIRTY_VALID = 1;  // vertexDirtyBounds就是需要刷新的区域
+    private static final int VERTEX_DIRTY_INVALID = 2;  // 无法只刷新修改的顶点，需要刷新整个分数图形
+
+    public SpiderWebRenderer() {
+        this(null);
+    }
+
+    /**
+     * @param style 共享的样式，为null时使用自己的画笔
+     */
+    public SpiderWebRenderer(SpiderWebStyle style) {
+        path = new Path();
+        if(style != null){
+            setStyle(style);
+            return;
+        }
+
+        linePaint = new Paint();
+        linePaint.setColor(lineColor);
+        linePaint.setStyle(Paint.Style.STROKE);
+        linePaint.setAntiAlias(true);
+
+        scorePaint = new Paint();
+        scorePaint.setColor(scoreColor);
+        scorePaint.setStyle(Paint.Style.FILL_AND_STROKE);
+        scorePaint.setAntiAlias(true);
+    }
+
+    /**
+     * 设置绘制区域的尺寸，从Canvas的(0, 0)开始绘制
+     * @param width 宽
+     * @param height 高
+     */
+    public void setSize(int width, int height) {
+        setBounds(0, 0, width, height);
+    }
+
+    /**
+     * 设置绘制区域，蛛网图形会居中绘制在这个区域中，半径为宽高中较小值的一半
+     */
+    public void setBounds(int left, int top, int right, int bottom) {
+        if(this.left == left && this.top == top && this.width == right - left && this.height == bottom - top){
+            return;
+        }
+        this.left = left;
+        this.top = top;
+        this.width = right - left;
+        this.height = bottom - top;
+        geometryDirty = true;
+    }
+
+    /**
+     * 重新计算中心点、半径以及几何数据，只在绘制前几何数据失效时调用，因此连续修改多个属性也只会计算一次
+     */
+    private void reset(){
+        geometryDirty = false;
+        drawnScoreBoundsValid = false;
+        scoreVertexPointsDirty = true;
+        if(angleCount != 0 && hierarchyCount != 0){
+            centerX = left + width / 2;
+            centerY = top + height / 2;
+            radius = Math.min(width, height) / 2;
+            if(hasLabels()){
+                // 文案绘制在蛛网外面，因此要给文案留出空间
+                radius = Math.max(radius - labelExtent - labelSpacing, 0);
+            }
+            boolean geometryChanged;
+            if(sharedGeometryEnabled){
+                RadarGeometry newGeometry = RadarGeometryCache.getDefault().obtain(geometry, angleCount, hierarchyCount, centerX, centerY, radius);
+                geometryChanged = newGeometry != geometry;
+                geometry = newGeometry;
+            }else{
+                if(geometry.isFrozen()){
+                    geometry = new RadarGeometry();
+                }
+                geometryChanged = geometry.update(angleCount, hierarchyCount, centerX, centerY, radius);
+            }
+            if(geometryChanged){
+                gridCacheDirty = true;
+                labelPositionsDirty = true;
+                batchPrimitivesDirty = true;
+            }
+
+            int newAxisStep = levelOfDetailEnabled ? RadarDecimation.computeAxisStep(angleCount, radius, levelOfDetailSpacing) : 1;
+            if(axisStep != newAxisStep){
+                axisStep = newAxisStep;
+                gridCacheDirty = true;
+                batchPrimitivesDirty = true;
+                scoreIndicesDirty = true;
+            }
+        }
+    }
+
+    /**
+     * 绘制整个蛛网评分图
+     * @param canvas Canvas
+     */
+    public void draw(Canvas canvas) {
+        // 开关在开始绘制时读取一次，保证整个绘制过程中的区段是成对的
+        tracing = SpiderWebTrace.isEnabled();
+        timing = drawMetricsListener != null;
+        long drawStartTime = 0;
+        if(timing){
+            drawMetrics.reset();
+            drawStartTime = System.nanoTime();
+        }
+        if(tracing){
+            SpiderWebTrace.beginSection("SpiderWeb#draw");
+        }
+
+        drawCallCount = 0;
+        if(labelLayoutsDirty){
+            buildLabelLayouts();
+            geometryDirty = true;
+        }
+        if(geometryDirty){
+            reset();
+        }
+
+        if(!drawGridFromCache(canvas)){
+            drawGrid(canvas);
+        }
+        computeScoreAnimation();
+        drawScore(canvas);
+        drawHighlight(canvas);
+
+        long phaseStartTime = beginPhase(DrawMetrics.PHASE_SERIES);
+        drawAllScoreSeries(canvas);
+        endPhase(DrawMetrics.PHASE_SERIES, phaseStartTime);
+
+        phaseStartTime = beginPhase(DrawMetrics.PHASE_LABELS);
+        drawLabels(canvas);
+        endPhase(DrawMetrics.PHASE_LABELS, phaseStartTime);
+        lastDrawCallCount = drawCallCount;
+
+        if(tracing){
+            SpiderWebTrace.endSection();
+        }
+        if(timing){
+            drawMetrics.set(System.nanoTime() - drawStartTime, drawCallCount, pendingInvalidateCount);
+            drawMetricsListener.onDrawMetrics(drawMetrics);
+        }
+        pendingInvalidateCount = 0;
+        vertexDirtyState = VERTEX_DIRTY_NONE;
+    }
+
+    /**
+     * 开始一个绘制阶段
+     * @return 开始的时间，没有开启统计时为0
+     */
+    private long beginPhase(int phase) {
+        if(tracing){
+            SpiderWebTrace.beginSection(DrawMetrics.SECTION_NAMES[phase]);
+        }
+        return timing ? System.nanoTime() : 0;
+    }
+
+    /**
+     * 结束一个绘制阶段并记录耗时
+     */
+    private void endPhase(int phase, long startTime) {
+        if(tracing){
+            SpiderWebTrace.endSection();
+        }
+        if(timing){
+            drawMetrics.addPhaseDuration(phase, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * 直接绘制蛛网，也就是所有的层和线
+     * @param canvas Canvas
+     */
+    private void drawGrid(Canvas canvas) {
+        long phaseStartTime = beginPhase(DrawMetrics.PHASE_HIERARCHY);
+        drawAllHierarchy(canvas);
+        endPhase(DrawMetrics.PHASE_HIERARCHY, phaseStartTime);
+
+        phaseStartTime = beginPhase(DrawMetrics.PHASE_SPOKES);
+        drawAllLine(canvas);
+        endPhase(DrawMetrics.PHASE_SPOKES, phaseStartTime);
+
+        if(timing){
+            int axisCount = RadarDecimation.computeAxisCount(angleCount, axisStep);
+            drawMetrics.addVertexCount(axisCount * hierarchyCount + axisCount * 2);
+        }
+    }
+
+    /**
+     * 根据当前时间计算分数动画这一帧的比例
+     */
+    private void computeScoreAnimation() {
+        if(!scoreAnimating){
+            return;
+        }
+        scoreVertexPointsDirty = true;
+
+        float progress = (float) (AnimationUtils.currentAnimationTimeMillis() - scoreAnimationStartTime) / scoreAnimationDuration;
+        if(progress >= 1f){
+            System.arraycopy(animationEndFractions, 0, scoreFractions, 0, scoreFractionCount);
+            scoreAnimating = false;
+            return;
+        }
+
+        float interpolation = scoreInterpolator != null ? scoreInterpolator.getInterpolation(Math.max(progress, 0f)) : progress;
+        float startFraction;
+        for(int w = 0; w < scoreFractionCount; w++){
+            startFraction = animationStartFractions[w];
+            scoreFractions[w] = startFraction + (animationEndFractions[w] - startFraction) * interpolation;
+        }
+    }
+
+    /**
+     * 从离屏缓存中绘制蛛网，缓存失效时先将所有的层和线重新绘制到缓存中
+     * @param canvas Canvas
+     * @return false：没有启用缓存或无法创建缓存，需要直接绘制
+     */
+    private boolean drawGridFromCache(Canvas canvas) {
+        if(!gridCacheEnabled || width <= 0 || height <= 0){
+            return false;
+        }
+
+        if(gridCacheBitmap == null || gridCacheBitmap.getWidth() != width || gridCacheBitmap.getHeight() != height){
+            releaseGridCache();
+            try {
+                gridCacheBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            } catch (OutOfMemoryError e) {
+                // 内存不足时关闭缓存直接绘制，避免每一帧都重新尝试创建Bitmap
+                gridCacheEnabled = false;
+                return false;
+            }
+            gridCacheCanvas = new Canvas(gridCacheBitmap);
+            gridCacheDirty = true;
+        }
+
+        if(gridCacheDirty){
+            // 绘制到缓存上的不算在本次绘制的次数中
+            int savedDrawCallCount = drawCallCount;
+            gridCacheBitmap.eraseColor(Color.TRANSPARENT);
+            gridCacheCanvas.save();
+            gridCacheCanvas.translate(-left, -top);
+            drawGrid(gridCacheCanvas);
+            gridCacheCanvas.restore();
+            gridCacheDirty = false;
+            drawCallCount = savedDrawCallCount;
+        }
+
+        long phaseStartTime = beginPhase(DrawMetrics.PHASE_GRID_CACHE);
+        canvas.drawBitmap(gridCacheBitmap, left, top, null);
+        endPhase(DrawMetrics.PHASE_GRID_CACHE, phaseStartTime);
+        drawCallCount++;
+        return true;
+    }
+
+    /**
+     * 释放蛛网缓存，下次绘制时会重新创建
+     * <br>这里不主动recycle，因为硬件加速下已经录制的DisplayList可能还引用着这个Bitmap
+     */
+    public void releaseGridCache() {
+        gridCacheBitmap = null;
+        gridCacheCanvas = null;
+        gridCacheDirty = true;
+    }
+
+    /**
+     * 绘制所有的层
+     * @param canvas Canvas
+     */
+    private void drawAllHierarchy(Canvas canvas) {
+        if(batchDrawEnabled){
+            buildBatchPrimitives();
+            canvas.drawPath(gridPath, linePaint);
+            drawCallCount++;
+            return;
+        }
+
+        for(int w = 0; w < hierarchyCount; w++){
+            drawHierarchy(canvas, w);
+        }
+    }
+
+    /**
+     * 把所有的层合并成一个Path，所有的线合并成一个数组，只有几何数据变化时才重新创建，数组长度够用时复用
+     */
+    private void buildBatchPrimitives() {
+        if(!batchPrimitivesDirty && gridPath != null){
+            return;
+        }
+
+        if(gridPath == null){
+            gridPath = new Path();
+        }
+        gridPath.reset();
+        for(int hierarchy = 0; hierarchy < hierarchyCount; hierarchy++){
+            gridPath.moveTo(geometry.getHierarchyPointX(hierarchy, 0), geometry.getHierarchyPointY(hierarchy, 0));
+            for (int position = axisStep; position < angleCount; position += axisStep) {
+                gridPath.lineTo(geometry.getHierarchyPointX(hierarchy, position), geometry.getHierarchyPointY(hierarchy, position));
+            }
+            gridPath.close();
+        }
+
+        int outermostHierarchy = hierarchyCount - 1;
+        spokePointCount = RadarDecimation.computeAxisCount(angleCount, axisStep) * 4;
+        spokePoints = ensureCapacity(spokePoints, spokePointCount);
+        for(int position = 0, index = 0; position < angleCount; position += axisStep, index += 4){
+            spokePoints[index] = centerX;
+            spokePoints[index + 1] = centerY;
+            spokePoints[index + 2] = geometry.getHierarchyPointX(outermostHierarchy, position);
+            spokePoints[index + 3] = geometry.getHierarchyPointY(outermostHierarchy, position);
+        }
+        batchPrimitivesDirty = false;
+    }
+
+    /**
+     * 绘制一层，顶点坐标直接从几何缓存中读取
+     * @param canvas Canvas
+     * @param hierarchy 第几层，从0开始
+     */
+    private void drawHierarchy(Canvas canvas, int hierarchy) {
+        path.reset();
+
+        for (int position = 0; position < angleCount; position += axisStep) {
+            if(position == 0){
+                path.moveTo(geometry.getHierarchyPointX(hierarchy, position), geometry.getHierarchyPointY(hierarchy, position));
+            }else{
+                path.lineTo(geometry.getHierarchyPointX(hierarchy, position), geometry.getHierarchyPointY(hierarchy, position));
+            }
+        }
+
+        path.close();
+        canvas.drawPath(path, linePaint);
+        drawCallCount++;
+    }
+
+    /**
+     * 绘制所有的线
+     * @param canvas Canvas
+     */
+    private void drawAllLine(Canvas canvas){
+        if(batchDrawEnabled){
+            buildBatchPrimitives();
+            canvas.drawLines(spokePoints, 0, spokePointCount, linePaint);
+            drawCallCount++;
+            return;
+        }
+
+        int outermostHierarchy = hierarchyCount - 1;
+        for(int position = 0; position < angleCount; position += axisStep){
+            canvas.drawLine(centerX, centerY, geometry.getHierarchyPointX(outermostHierarchy, position), geometry.getHierarchyPointY(outermostHierarchy, position), linePaint);
+            drawCallCount++;
+        }
+    }
+
+    /**
+     * 根据每个角的比例创建分数图形的路径
+     * @param fractions 每个分数占最大分数的比例
+     * @param indices 抽稀后保留的角，为null时使用所有的角
+     * @param indexCount 保留的角的个数
+     * @return 分数图形的顶点个数
+     */
+    private int buildScorePath(float[] fractions, int[] indices, int indexCount) {
+        int pointCount = indices != null ? indexCount : angleCount;
+        scorePoints = ensureCapacity(scorePoints, pointCount * 2);
+        if(indices != null){
+            int position;
+            for(int w = 0; w < indexCount; w++){
+                position = indices[w];
+                scorePoints[w * 2] = geometry.getPointX(position, fractions[position] * radius);
+                scorePoints[w * 2 + 1] = geometry.getPointY(position, fractions[position] * radius);
+            }
+        }else{
+            geometry.computeScorePoints(fractions, scorePoints);
+        }
+
+        buildPath(scorePoints, pointCount);
+        return pointCount;
+    }
+
+    /**
+     * 用给定的顶点创建一个闭合的路径
+     * @param points 顶点坐标，按[角][x, y]排列
+     * @param pointCount 顶点的个数
+     */
+    private void buildPath(float[] points, int pointCount) {
+        path.reset();
+        path.moveTo(points[0], points[1]);
+        for (int index = 2, size = pointCount * 2; index < size; index += 2) {
+            path.lineTo(points[index], points[index + 1]);
+        }
+        path.close();
+    }
+
+    /**
+     * 确保主分数图形所有顶点的坐标是最新的
+     */
+    private void ensureScoreVertexPoints() {
+        if(scoreVertexPointsDirty){
+            scoreVertexPoints = ensureCapacity(scoreVertexPoints, angleCount * 2);
+            geometry.computeScorePoints(scoreFractions, scoreVertexPoints);
+            scoreVertexPointsDirty = false;
+        }
+    }
+
+    /**
+     * 抽稀后分数图形保留的角，按最终的比例计算，因此只有分数或步长变化时才需要重新计算，动画过程中不变
+     * @return null：不需要抽稀
+     */
+    private int[] getScoreIndices() {
+        if(axisStep <= 1){
+            return null;
+        }
+        if(scoreIndicesDirty){
+            scoreIndices = ensureCapacity(scoreIndices, RadarDecimation.computeAxisCount(angleCount, axisStep) * 2);
+            scoreIndexCount = RadarDecimation.simplifyFractions(animationEndFractions, angleCount, axisStep, scoreIndices);
+            scoreIndicesDirty = false;
+        }
+        return scoreIndices;
+    }
+
+    /**
+     * 抽稀后叠加的分数图形保留的角，缓存在ScoreSeries中，只有它的分数或步长变化时才重新计算
+     * @return null：不需要抽稀
+     */
+    private int[] getSeriesIndices(ScoreSeries series) {
+        if(axisStep <= 1){
+            return null;
+        }
+        if(series.lodStep != axisStep){
+            series.lodIndices = ensureCapacity(series.lodIndices, RadarDecimation.computeAxisCount(angleCount, axisStep) * 2);
+            series.lodIndexCount = RadarDecimation.simplifyFractions(series.getScoreFractions(), angleCount, axisStep, series.lodIndices);
+            series.lodStep = axisStep;
+        }
+        return series.lodIndices;
+    }
+
+    /**
+     * 绘制分数图形
+     * @param canvas Canvas
+     */
+    private void drawScore(Canvas canvas){
+        if(scoreFractionCount <= 0 || scoreFractionCount != angleCount){
+            return;
+        }
+
+        long phaseStartTime = beginPhase(DrawMetrics.PHASE_SCORE);
+        int[] indices = getScoreIndices();
+        int pointCount;
+        if(indices == null){
+            // 不需要抽稀时直接使用缓存的顶点，updateScore()只修改了一个顶点时不需要重新计算
+            ensureScoreVertexPoints();
+            pointCount = angleCount;
+            buildPath(scoreVertexPoints, pointCount);
+            computePointsBounds(scoreVertexPoints, pointCount, drawnScoreBounds);
+        }else{
+            pointCount = buildScorePath(scoreFractions, indices, scoreIndexCount);
+            computePointsBounds(scorePoints, pointCount, drawnScoreBounds);
+        }
+        drawnScoreBoundsValid = true;
+        canvas.drawPath(path, scorePaint);
+        drawCallCount++;
+        endPhase(DrawMetrics.PHASE_SCORE, phaseStartTime);
+        if(timing){
+            drawMetrics.addVertexCount(pointCount);
+        }
+
+        // 绘制描边
+        if(!disableScoreStroke){
+            phaseStartTime = beginPhase(DrawMetrics.PHASE_SCORE_STROKE);
+            if(scoreStrokePaint == null){
+                scoreStrokePaint = new Paint();
+                scoreStrokePaint.setColor(scoreStrokeColor);
+                scoreStrokePaint.setStyle(Paint.Style.STROKE);
+                scoreStrokePaint.setAntiAlias(true);
+                if(scoreStrokeWidth > 0){
+                    scoreStrokePaint.setStrokeWidth(scoreStrokeWidth);
+                }
+            }
+            canvas.drawPath(path, scoreStrokePaint);
+            drawCallCount++;
+            endPhase(DrawMetrics.PHASE_SCORE_STROKE, phaseStartTime);
+        }
+    }
+
+    /**
+     * 绘制高亮的角，包括这个角的线以及分数图形在这个角上的顶点
+     * @param canvas Canvas
+     */
+    private void drawHighlight(Canvas canvas) {
+        if(highlightedAxis < 0 || highlightedAxis >= angleCount){
+            return;
+        }
+
+        if(highlightPaint == null){
+            highlightPaint = new Paint();
+            highlightPaint.setAntiAlias(true);
+            highlightPaint.setStrokeCap(Paint.Cap.ROUND);
+        }
+        highlightPaint.setColor(highlightColor);
+        highlightPaint.setStrokeWidth(highlightWidth);
+
+        highlightPaint.setStyle(Paint.Style.STROKE);
+        canvas.drawLine(centerX, centerY, geometry.getPointX(highlightedAxis, radius), geometry.getPointY(highlightedAxis, radius), highlightPaint);
+        drawCallCount++;
+
+        if(scoreFractionCount == angleCount){
+            float distance = scoreFractions[highlightedAxis] * radius;
+            highlightPaint.setStyle(Paint.Style.FILL);
+            canvas.drawCircle(geometry.getPointX(highlightedAxis, distance), geometry.getPointY(highlightedAxis, distance), highlightWidth * 2, highlightPaint);
+            drawCallCount++;
+        }
+    }
+
+    /**
+     * 查找给定的点落在哪个角的扇区中，只需要一次atan2，和角的个数无关，不会创建任何对象
+     * @param x 点的X坐标，和绘制时使用同一个坐标系
+     * @param y 点的Y坐标
+     * @return 第几个角，点在蛛网以及文案的范围之外时返回-1
+     */
+    public int findAxis(float x, float y) {
+        if(geometryDirty || labelLayoutsDirty){
+            if(labelLayoutsDirty){
+                buildLabelLayouts();
+            }
+            reset();
+        }
+
+        float dx = x - centerX;
+        float dy = y - centerY;
+        float maxDistance = hasLabels() ? radius + labelSpacing + labelExtent : radius;
+        if(dx * dx + dy * dy > maxDistance * maxDistance){
+            return -1;
+        }
+        return geometry.findAxisPosition(x, y);
+    }
+
+    /**
+     * 查找离给定的点最近的分数图形顶点，只检查点所在扇区的角以及左右相邻的两个角，不会创建任何对象
+     * @param x 点的X坐标，和绘制时使用同一个坐标系
+     * @param y 点的Y坐标
+     * @param maxDistance 最大距离，超过这个距离的顶点不算
+     * @return 最近的顶点是第几个角，没有找到时返回-1
+     */
+    public int findScoreVertex(float x, float y, float maxDistance) {
+        int axis = findAxis(x, y);
+        if(axis < 0 || scoreFractionCount != angleCount){
+            return -1;
+        }
+
+        ensureScoreVertexPoints();
+        return RadarGeometry.findNearestPoint(scoreVertexPoints, angleCount, axis, x, y, maxDistance);
+    }
+
+    /**
+     * 计算顶点的范围
+     * @param points 顶点坐标，按[角][x, y]排列
+     * @param count 顶点的个数
+     * @param outBounds 用来接收结果
+     */
+    private static void computePointsBounds(float[] points, int count, RectF outBounds) {
+        outBounds.set(points[0], points[1], points[0], points[1]);
+        for (int index = 2, size = count * 2; index < size; index += 2) {
+            outBounds.union(points[index], points[index + 1]);
+        }
+    }
+
+    /**
+     * 计算只有主分数变化时需要刷新的区域，也就是上一次绘制的分数图形和新的分数图形（动画中为最终的图形）的并集，并加上描边以及高亮顶点的宽度
+     * <br>在修改分数之后、下次绘制之前调用
+     * @param outRect 用来接收结果
+     * @return false：几何数据已经失效或者还没有绘制过分数图形，无法计算，需要刷新整个区域
+     */
+    public boolean getScoreDirtyBounds(Rect outRect) {
+        if(geometryDirty || labelLayoutsDirty || !drawnScoreBoundsValid || scoreFractionCount != angleCount){
+            return false;
+        }
+
+        scorePoints = ensureCapacity(scorePoints, angleCount * 2);
+        geometry.computeScorePoints(scoreAnimating ? animationEndFractions : scoreFractions, scorePoints);
+        computePointsBounds(scorePoints, angleCount, dirtyScoreBounds);
+        dirtyScoreBounds.union(drawnScoreBounds);
+
+        float outset = computeScoreDirtyOutset();
+        dirtyScoreBounds.inset(-outset, -outset);
+        dirtyScoreBounds.roundOut(outRect);
+        return true;
+    }
+
+    /**
+     * 计算分数图形的刷新区域需要在顶点范围之外扩展的距离，描边、高亮的顶点以及抗锯齿都会超出顶点的范围
+     */
+    private float computeScoreDirtyOutset() {
+        float outset = disableScoreStroke || scoreStrokeWidth <= 0 ? 0 : scoreStrokeWidth / 2;
+        if(highlightedAxis >= 0){
+            // 高亮的顶点是一个半径为highlightWidth * 2的圆
+            outset = Math.max(outset, highlightWidth * 2);
+        }
+        return outset + 2;
+    }
+
+    /**
+     * 绘制所有叠加的分数图形，和主分数图形共用蛛网以及几何数据缓存
+     * @param canvas Canvas
+     */
+    private void drawAllScoreSeries(Canvas canvas){
+        if(scoreSeriesList.isEmpty()){
+            return;
+        }
+
+        if(seriesPaint == null){
+            seriesPaint = new Paint();
+            seriesPaint.setStyle(Paint.Style.FILL_AND_STROKE);
+            seriesPaint.setAntiAlias(true);
+
+            seriesStrokePaint = new Paint();
+            seriesStrokePaint.setStyle(Paint.Style.STROKE);
+            seriesStrokePaint.setAntiAlias(true);
+        }
+
+        ScoreSeries series;
+        for(int w = 0, size = scoreSeriesList.size(); w < size; w++){
+            series = scoreSeriesList.get(w);
+            if(!series.isVisible() || series.getScoreCount() != angleCount){
+                continue;
+            }
+
+            int pointCount = buildScorePath(series.getScoreFractions(), getSeriesIndices(series), series.lodIndexCount);
+            if(timing){
+                drawMetrics.addVertexCount(pointCount);
+            }
+            seriesPaint.setColor(series.getColor());
+            canvas.drawPath(path, seriesPaint);
+            drawCallCount++;
+
+            if(!series.isDisableStroke()){
+                seriesStrokePaint.setColor(series.getStrokeColor());
+                seriesStrokePaint.setStrokeWidth(series.getStrokeWidth() > 0 ? series.getStrokeWidth() : 0);
+                canvas.drawPath(path, seriesStrokePaint);
+                drawCallCount++;
+            }
+        }
+    }
+
+    /**
+     * 是否有需要绘制的文案
+     */
+    private boolean hasLabels() {
+        return labels != null && labels.length == angleCount;
+    }
+
+    /**
+     * 创建并缓存所有文案的排版，计算每个文案的尺寸
+     */
+    private void buildLabelLayouts() {
+        labelLayoutsDirty = false;
+        labelPositionsDirty = true;
+        labelExtent = 0;
+        if(labels == null){
+            labelLayouts = null;
+            return;
+        }
+
+        if(labelPaint == null){
+            labelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        }
+        if(labelLayouts == null || labelLayouts.length != labels.length){
+            labelLayouts = new StaticLayout[labels.length];
+        }
+        labelSizes = ensureCapacity(labelSizes, labels.length * 2);
+        labelPositions = ensureCapacity(labelPositions, labels.length * 2);
+
+        CharSequence label;
+        StaticLayout layout;
+        Drawable icon;
+        float labelWidth;
+        float labelHeight;
+        for(int w = 0; w < labels.length; w++){
+            label = labels[w] != null ? labels[w] : "";
+            int textWidth = (int) Math.ceil(Layout.getDesiredWidth(label, labelPaint));
+            layout = new StaticLayout(label, labelPaint, textWidth, Layout.Alignment.ALIGN_CENTER, 1f, 0f, false);
+            labelLayouts[w] = layout;
+
+            labelWidth = layout.getWidth();
+            labelHeight = layout.getHeight();
+            icon = labelIcons != null && w < labelIcons.length ? labelIcons[w] : null;
+            if(icon != null){
+                labelWidth += labelIconPadding + icon.getIntrinsicWidth();
+                labelHeight = Math.max(labelHeight, icon.getIntrinsicHeight());
+            }
+            labelSizes[w * 2] = labelWidth;
+            labelSizes[w * 2 + 1] = labelHeight;
+            labelExtent = Math.max(labelExtent, Math.max(labelWidth, labelHeight));
+        }
+    }
+
+    /**
+     * 绘制每个角外面的文案以及图标，按照和CircularLayout一样的8个方位的规则偏移
+     * @param canvas Canvas
+     */
+    private void drawLabels(Canvas canvas) {
+        if(!hasLabels() || labelLayouts == null){
+            return;
+        }
+
+        if(labelPositionsDirty){
+            for(int position = 0; position < angleCount; position++){
+                RadarGeometry.computeLabelPosition(RadarGeometry.computeLocation(geometry.getAxisAngle(position)),
+                        geometry.getPointX(position, radius), geometry.getPointY(position, radius),
+                        labelSizes[position * 2], labelSizes[position * 2 + 1], labelSpacing, labelPosition);
+                labelPositions[position * 2] = labelPosition[0];
+                labelPositions[position * 2 + 1] = labelPosition[1];
+            }
+            labelPositionsDirty = false;
+        }
+
+        StaticLayout layout;
+        Drawable icon;
+        float labelLeft;
+        float labelTop;
+        float labelHeight;
+        int iconTop;
+        for(int position = 0; position < angleCount; position++){
+            layout = labelLayouts[position];
+            labelLeft = labelPositions[position * 2];
+            labelTop = labelPositions[position * 2 + 1];
+            labelHeight = labelSizes[position * 2 + 1];
+
+            canvas.save();
+            canvas.translate(labelLeft, labelTop + (labelHeight - layout.getHeight()) / 2);
+            layout.draw(canvas);
+            canvas.restore();
+            drawCallCount++;
+
+            icon = labelIcons != null && position < labelIcons.length ? labelIcons[position] : null;
+            if(icon != null){
+                int iconLeft = (int) (labelLeft + layout.getWidth() + labelIconPadding);
+                iconTop = (int) (labelTop + (labelHeight - icon.getIntrinsicHeight()) / 2);
+                icon.setBounds(iconLeft, iconTop, iconLeft + icon.getIntrinsicWidth(), iconTop + icon.getIntrinsicHeight());
+                icon.draw(canvas);
+                drawCallCount++;
+            }
+        }
+    }
+
+    /**
+     * 设置每个角外面显示的文案，直接绘制在Canvas上，不需要再搭配CircularLayout使用，文案会占用绘制区域的空间，因此蛛网会相应的变小
+     * <br>文案的个数必须和角的个数一致，否则不会绘制；文案的排版会缓存起来，只有文案或者样式变化时才会重新创建
+     * @param labels 文案，为null时不显示文案
+     * @return false：没有变化
+     */
+    public boolean setLabels(CharSequence[] labels) {
+        if(Arrays.equals(this.labels, labels)){
+            return false;
+        }
+        this.labels = labels != null ? labels.clone() : null;
+        labelLayoutsDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置每个文案右边显示的图标
+     * @param labelIcons 图标，个数和文案一致，某一个为null时那个文案不显示图标
+     * @return false：没有变化
+     */
+    public boolean setLabelIcons(Drawable[] labelIcons) {
+        if(Arrays.equals(this.labelIcons, labelIcons)){
+            return false;
+        }
+        this.labelIcons = labelIcons != null ? labelIcons.clone() : null;
+        labelLayoutsDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置文案的文字大小
+     * @param labelTextSize 文字大小，单位像素
+     * @return false：没有变化
+     */
+    public boolean setLabelTextSize(float labelTextSize) {
+        if(labelPaint == null){
+            labelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        }else if(labelPaint.getTextSize() == labelTextSize){
+            return false;
+        }
+        labelPaint.setTextSize(labelTextSize);
+        labelLayoutsDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置文案的文字颜色
+     * @param labelTextColor 文字颜色
+     * @return false：没有变化
+     */
+    public boolean setLabelTextColor(int labelTextColor) {
+        if(labelPaint == null){
+            labelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        }else if(labelPaint.getColor() == labelTextColor){
+            return false;
+        }
+        labelPaint.setColor(labelTextColor);
+        return true;
+    }
+
+    /**
+     * 设置文案与蛛网之间的间距
+     * @param labelSpacing 间距，单位像素
+     * @return false：没有变化
+     */
+    public boolean setLabelSpacing(float labelSpacing) {
+        if(this.labelSpacing == labelSpacing){
+            return false;
+        }
+        this.labelSpacing = labelSpacing;
+        labelLayoutsDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置文案和图标之间的间距
+     * @param labelIconPadding 间距，单位像素
+     * @return false：没有变化
+     */
+    public boolean setLabelIconPadding(float labelIconPadding) {
+        if(this.labelIconPadding == labelIconPadding){
+            return false;
+        }
+        this.labelIconPadding = labelIconPadding;
+        labelLayoutsDirty = true;
+        return true;
+    }
+
+    /**
+     * 使用共享的样式，之后和其它使用同一个样式的绘制器共用同一组画笔，再单独修改样式时会先拷贝一份自己的画笔
+     * @param style 共享的样式，为null时改回使用自己的画笔
+     * @return false：没有变化
+     */
+    public boolean setStyle(SpiderWebStyle style) {
+        if(this.style == style){
+            return false;
+        }
+        if(style == null){
+            ensureOwnPaints();
+            return true;
+        }
+
+        this.style = style;
+        lineColor = style.getLineColor();
+        lineWidth = style.getLineWidth();
+        scoreColor = style.getScoreColor();
+        scoreStrokeColor = style.getScoreStrokeColor();
+        scoreStrokeWidth = style.getScoreStrokeWidth();
+        disableScoreStroke = style.isDisableScoreStroke();
+        linePaint = style.getLinePaint();
+        scorePaint = style.getScorePaint();
+        scoreStrokePaint = style.getScoreStrokePaint();
+        gridCacheDirty = true;
+        return true;
+    }
+
+    public SpiderWebStyle getStyle() {
+        return style;
+    }
+
+    /**
+     * 正在使用共享的样式时拷贝一份自己的画笔，修改画笔之前调用，避免影响其它共用这个样式的绘制器
+     */
+    private void ensureOwnPaints() {
+        if(style == null){
+            return;
+        }
+        linePaint = new Paint(linePaint);
+        scorePaint = new Paint(scorePaint);
+        scoreStrokePaint = new Paint(scoreStrokePaint);
+        style = null;
+    }
+
+    /**
+     * 设置是否从进程内共享的RadarGeometryCache中获取几何数据，默认关闭
+     * <br>开启后尺寸、角的个数以及层数都一样的图形共用同一份几何数据，只需要计算一次，适合一屏有大量相同图形的场景
+     * @param sharedGeometryEnabled 是否共享几何数据
+     * @return false：没有变化
+     */
+    public boolean setSharedGeometryEnabled(boolean sharedGeometryEnabled) {
+        if(this.sharedGeometryEnabled == sharedGeometryEnabled){
+            return false;
+        }
+        this.sharedGeometryEnabled = sharedGeometryEnabled;
+        geometryDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置蛛网有多少个角，setScores()时会根据分数的个数覆盖此参数，分数的个数和角的个数不一致时不绘制分数图形
+     * @param angleCount 蛛网有多少个角
+     */
+    public void setAngleCount(int angleCount) {
+        if(angleCount <= 2){
+            throw new IllegalArgumentException("angleCount Can not be less than or equal to 2");
+        }
+        if(this.angleCount != angleCount){
+            this.angleCount = angleCount;
+            gridCacheDirty = true;
+            geometryDirty = true;
+        }
+    }
+
+    /**
+     * 设置最大分数，只影响之后设置的分数
+     * @param maxScore 最大分数
+     */
+    public void setMaxScore(float maxScore) {
+        if(maxScore <= 0){
+            throw new IllegalArgumentException("maxScore Can not be less than or equal to 0");
+        }
+        this.maxScore = maxScore;
+    }
+
+    /**
+     * 设置分数，有多少个分数就有多少个角
+     * @param maxScore 最大分数
+     * @param scores 分数
+     * @param animate 是否以动画的方式从当前的分数过渡到新的分数，角的个数发生变化时会从旧图形在新的角上的位置开始过渡
+     * @return false：分数没有变化
+     */
+    public boolean setScores(float maxScore, float[] scores, boolean animate) {
+        if(scores == null || scores.length == 0){
+            throw new IllegalArgumentException("scores Can't be null or empty");
+        }
+        return setScores(maxScore, scores, scores.length, animate);
+    }
+
+    /**
+     * 设置分数，只使用数组的前count个分数，分数的个数不变时不会创建任何对象，适合高频率更新分数的场景
+     * @param maxScore 最大分数
+     * @param scores 分数
+     * @param count 分数的个数，也就是角的个数
+     * @param animate 是否以动画的方式从当前的分数过渡到新的分数
+     * @return false：分数没有变化
+     */
+    public boolean setScores(float maxScore, float[] scores, int count, boolean animate) {
+        if(scores == null || count <= 0 || count > scores.length){
+            throw new IllegalArgumentException("scores Can't be null and count must be in (0, scores.length]");
+        }
+        if(!scoreAnimating && isSameScores(maxScore, scores, count)){
+            return false;
+        }
+        setMaxScore(maxScore);
+        applyScores(scores, count, animate);
+        return true;
+    }
+
+    /**
+     * 设置蛛网评分图数据，会和当前的状态逐项对比，只处理真正发生变化的部分，不会播放分数动画
+     * @param chart 蛛网评分图数据
+     * @return false：没有任何变化，不需要重新绘制
+     */
+    public boolean setChart(SpiderWebChart chart) {
+        if(chart == null){
+            throw new IllegalArgumentException("chart Can't be null");
+        }
+
+        boolean geometryChanged = false;
+        boolean changed = false;
+
+        if(hierarchyCount != chart.getHierarchyCount()){
+            hierarchyCount = chart.getHierarchyCount();
+            geometryChanged = true;
+        }
+        if(angleCount != chart.getScoreCount()){
+            // setAngleCount(int)可以让角的个数和分数的个数不一致，这时即使分数没变也要改回分数的个数
+            angleCount = chart.getScoreCount();
+            geometryChanged = true;
+        }
+
+        if(lineColor != chart.getLineColor()){
+            ensureOwnPaints();
+            lineColor = chart.getLineColor();
+            linePaint.setColor(lineColor);
+            gridCacheDirty = true;
+            changed = true;
+        }
+        if(lineWidth != chart.getLineWidth()){
+            ensureOwnPaints();
+            lineWidth = chart.getLineWidth();
+            linePaint.setStrokeWidth(lineWidth);
+            gridCacheDirty = true;
+            changed = true;
+        }
+
+        if(scoreColor != chart.getScoreColor()){
+            ensureOwnPaints();
+            scoreColor = chart.getScoreColor();
+            scorePaint.setColor(scoreColor);
+            changed = true;
+        }
+        if(scoreStrokeColor != chart.getScoreStrokeColor()){
+            ensureOwnPaints();
+            scoreStrokeColor = chart.getScoreStrokeColor();
+            if(scoreStrokePaint != null){
+                scoreStrokePaint.setColor(scoreStrokeColor);
+            }
+            changed = true;
+        }
+        if(scoreStrokeWidth != chart.getScoreStrokeWidth()){
+            ensureOwnPaints();
+            scoreStrokeWidth = chart.getScoreStrokeWidth();
+            if(scoreStrokePaint != null){
+                scoreStrokePaint.setStrokeWidth(scoreStrokeWidth);
+            }
+            changed = true;
+        }
+        if(disableScoreStroke != chart.isDisableScoreStroke()){
+            disableScoreStroke = chart.isDisableScoreStroke();
+            changed = true;
+        }
+
+        float[] chartScores = chart.getScoresInternal();
+        if(scoreAnimating || !isSameScores(chart.getMaxScore(), chartScores, chartScores.length)){
+            maxScore = chart.getMaxScore();
+            applyScores(chartScores, chartScores.length, false);
+            changed = true;
+        }
+
+        if(geometryChanged){
+            gridCacheDirty = true;
+            geometryDirty = true;
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * 判断给定的分数是否和当前的分数完全一致
+     */
+    private boolean isSameScores(float maxScore, float[] scores, int count) {
+        if(this.maxScore != maxScore || this.scores == null || this.scores.length != count){
+            return false;
+        }
+        for(int w = 0; w < count; w++){
+            if(this.scores[w] != scores[w]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 保存分数的拷贝并计算每个角的比例，需要的话开始动画
+     * @param scores 分数
+     * @param newCount 分数的个数
+     * @param animate 是否以动画的方式过渡
+     */
+    private void applyScores(float[] scores, int newCount, boolean animate) {
+        int oldCount = scoreFractionCount;
+        boolean startAnimation = animate && oldCount > 0 && scoreAnimationDuration > 0;
+        if(startAnimation){
+            animationStartFractions = ensureCapacity(animationStartFractions, newCount);
+            if(oldCount == newCount){
+                System.arraycopy(scoreFractions, 0, animationStartFractions, 0, newCount);
+            }else{
+                RadarGeometry.resampleFractions(scoreFractions, oldCount, animationStartFractions, newCount);
+            }
+        }
+
+        animationEndFractions = ensureCapacity(animationEndFractions, newCount);
+        computeFractions(scores, newCount, animationEndFractions);
+
+        scoreFractions = ensureCapacity(scoreFractions, newCount);
+        scoreFractionCount = newCount;
+        scoreIndicesDirty = true;
+        scoreVertexPointsDirty = true;
+        System.arraycopy(startAnimation ? animationStartFractions : animationEndFractions, 0, scoreFractions, 0, newCount);
+        scoreAnimating = startAnimation;
+        if(startAnimation){
+            scoreAnimationStartTime = AnimationUtils.currentAnimationTimeMillis();
+        }
+
+        // 保存一份拷贝，避免调用方修改数组后影响绘制，长度不变时复用
+        if(this.scores == null || this.scores.length != newCount){
+            this.scores = new float[newCount];
+        }
+        System.arraycopy(scores, 0, this.scores, 0, newCount);
+        if(this.angleCount != newCount){
+            this.angleCount = newCount;
+            gridCacheDirty = true;
+            geometryDirty = true;
+        }
+    }
+
+    /**
+     * 直接绑定已经换算好的比例，不保存分数、不重新换算也不播放动画，供SpiderWebGridView这种多个图形共用一个绘制器的场景在绘制每个格子前切换数据
+     * <br>绑定之后没有原始的分数，getScoreDirtyBounds(Rect)和updateScore(int, float, boolean)都不可用，下一次setScores(...)一定会生效
+     * @param fractions 比例
+     * @param offset 第一个比例在数组中的位置
+     * @param count 比例的个数，也就是角的个数
+     */
+    void bindFractions(float[] fractions, int offset, int count) {
+        scoreFractions = ensureCapacity(scoreFractions, count);
+        System.arraycopy(fractions, offset, scoreFractions, 0, count);
+        // 抽稀和顶点缓存都按最终的比例计算，所以也要同步到animationEndFractions中
+        animationEndFractions = ensureCapacity(animationEndFractions, count);
+        System.arraycopy(fractions, offset, animationEndFractions, 0, count);
+        scoreFractionCount = count;
+        scoreAnimating = false;
+        scoreIndicesDirty = true;
+        scoreVertexPointsDirty = true;
+        vertexDirtyState = VERTEX_DIRTY_INVALID;
+        drawnScoreBoundsValid = false;
+        scores = null;
+        if(this.angleCount != count){
+            this.angleCount = count;
+            gridCacheDirty = true;
+            geometryDirty = true;
+        }
+    }
+
+    /**
+     * 只修改一个角的分数，只重新计算这一个顶点，不会创建任何对象，适合拖动修改单个分数的场景
+     * <br>修改之后可以通过getScoreVertexDirtyBounds(Rect)获取需要刷新的区域
+     * @param index 第几个角
+     * @param score 新的分数
+     * @param animate 是否以动画的方式过渡到新的分数
+     * @return false：分数没有变化
+     */
+    public boolean updateScore(int index, float score, boolean animate) {
+        if(scores == null || index < 0 || index >= scores.length){
+            throw new IllegalArgumentException("index out of range: " + index);
+        }
+        if(scores[index] == score){
+            return false;
+        }
+
+        scores[index] = score;
+        float fraction = computeFraction(index, score, scores.length);
+        animationEndFractions[index] = fraction;
+        scoreIndicesDirty = true;
+
+        if(animate && scoreAnimationDuration > 0){
+            // 从当前的位置开始过渡，其它角如果还在动画中也会继续过渡到各自的目标
+            animationStartFractions = ensureCapacity(animationStartFractions, scoreFractionCount);
+            System.arraycopy(scoreFractions, 0, animationStartFractions, 0, scoreFractionCount);
+            scoreAnimating = true;
+            scoreAnimationStartTime = AnimationUtils.currentAnimationTimeMillis();
+            scoreVertexPointsDirty = true;
+            vertexDirtyState = VERTEX_DIRTY_INVALID;
+            return true;
+        }
+
+        if(scoreAnimating){
+            // 其它角还在动画中，这个角直接停在新的位置
+            animationStartFractions[index] = fraction;
+            scoreFractions[index] = fraction;
+            scoreVertexPointsDirty = true;
+            vertexDirtyState = VERTEX_DIRTY_INVALID;
+            return true;
+        }
+
+        scoreFractions[index] = fraction;
+        if(scoreVertexPointsDirty || geometryDirty || labelLayoutsDirty || scoreFractionCount != angleCount){
+            scoreVertexPointsDirty = true;
+            vertexDirtyState = VERTEX_DIRTY_INVALID;
+            return true;
+        }
+
+        // 只修改这一个顶点，需要刷新的区域是相邻两个顶点以及新旧两个顶点的范围
+        int xIndex = index * 2;
+        int previousIndex = (index == 0 ? angleCount - 1 : index - 1) * 2;
+        int nextIndex = (index == angleCount - 1 ? 0 : index + 1) * 2;
+        dirtyScoreBounds.set(scoreVertexPoints[xIndex], scoreVertexPoints[xIndex + 1], scoreVertexPoints[xIndex], scoreVertexPoints[xIndex + 1]);
+        scoreVertexPoints[xIndex] = geometry.getPointX(index, fraction * radius);
+        scoreVertexPoints[xIndex + 1] = geometry.getPointY(index, fraction * radius);
+        dirtyScoreBounds.union(scoreVertexPoints[xIndex], scoreVertexPoints[xIndex + 1]);
+        dirtyScoreBounds.union(scoreVertexPoints[previousIndex], scoreVertexPoints[previousIndex + 1]);
+        dirtyScoreBounds.union(scoreVertexPoints[nextIndex], scoreVertexPoints[nextIndex + 1]);
+
+        if(axisStep > 1){
+            // 抽稀后保留的顶点可能变了，只能刷新整个分数图形
+            vertexDirtyState = VERTEX_DIRTY_INVALID;
+        }else if(vertexDirtyState == VERTEX_DIRTY_NONE){
+            vertexDirtyBounds.set(dirtyScoreBounds);
+            vertexDirtyState = VERTEX_DIRTY_VALID;
+        }else if(vertexDirtyState == VERTEX_DIRTY_VALID){
+            vertexDirtyBounds.union(dirtyScoreBounds);
+        }
+        return true;
+    }
+
+    /**
+     * 获取上次绘制之后通过updateScore()修改的顶点需要刷新的区域，包括描边、抗锯齿以及高亮的顶点
+     * @param outRect 用来接收结果
+     * @return false：无法只刷新修改的顶点（例如有动画、几何数据已经失效或者开启了抽稀），请改用getScoreDirtyBounds(Rect)
+     */
+    public boolean getScoreVertexDirtyBounds(Rect outRect) {
+        if(vertexDirtyState != VERTEX_DIRTY_VALID){
+            return false;
+        }
+
+        float outset = computeScoreDirtyOutset();
+        dirtyScoreBounds.set(vertexDirtyBounds);
+        dirtyScoreBounds.inset(-outset, -outset);
+        dirtyScoreBounds.roundOut(outRect);
+        return true;
+    }
+
+    /**
+     * 把一个角的分数换算成比例，规则和computeFractions(float[], int, float[])一致
+     */
+    private float computeFraction(int index, float score, int count) {
+        if(scoreScale != null && scoreScale.getAxisCount() == count){
+            return scoreScale.computeFraction(index, score);
+        }
+        return score / maxScore;
+    }
+
+    /**
+     * 把分数换算成比例，设置了分数刻度并且角的个数一致时按刻度换算，否则除以最大分数
+     */
+    private void computeFractions(float[] scores, int count, float[] outFractions) {
+        if(scoreScale != null && scoreScale.getAxisCount() == count){
+            scoreScale.computeFractions(scores, 0, outFractions);
+            return;
+        }
+        for(int w = 0; w < count; w++){
+            outFractions[w] = scores[w] / maxScore;
+        }
+    }
+
+    /**
+     * 设置分数刻度，之后分数按刻度中每个角的范围和换算方式换算成比例，而不是都除以最大分数，只在设置分数时换算一次
+     * <br>刻度的角的个数和分数的个数不一致时不起作用，仍然除以最大分数
+     * @param scoreScale 分数刻度，为null时都除以最大分数
+     * @return false：没有变化
+     */
+    public boolean setScoreScale(RadarScale scoreScale) {
+        if(this.scoreScale == scoreScale){
+            return false;
+        }
+        this.scoreScale = scoreScale;
+        if(scores != null){
+            applyScores(scores, scores.length, false);
+        }
+        return true;
+    }
+
+    public RadarScale getScoreScale() {
+        return scoreScale;
+    }
+
+    /**
+     * 确保数组的长度不小于指定的长度，只有不够时才会创建新的数组
+     */
+    static float[] ensureCapacity(float[] array, int size) {
+        return array.length >= size ? array : new float[size];
+    }
+
+    static int[] ensureCapacity(int[] array, int size) {
+        return array.length >= size ? array : new int[size];
+    }
+
+    /**
+     * 添加一组叠加显示的分数，按添加的顺序绘制在主分数图形之上，分数的个数必须和角的个数一致，否则不会绘制
+     * @param series 分数组
+     */
+    public void addScoreSeries(ScoreSeries series) {
+        if(series == null){
+            throw new IllegalArgumentException("series Can't be null");
+        }
+        scoreSeriesList.add(series);
+    }
+
+    /**
+     * 删除一组叠加显示的分数
+     * @param series 分数组
+     * @return false：没有找到
+     */
+    public boolean removeScoreSeries(ScoreSeries series) {
+        return scoreSeriesList.remove(series);
+    }
+
+    /**
+     * 删除所有叠加显示的分数
+     * @return false：本来就是空的
+     */
+    public boolean clearScoreSeries() {
+        if(scoreSeriesList.isEmpty()){
+            return false;
+        }
+        scoreSeriesList.clear();
+        return true;
+    }
+
+    public int getScoreSeriesCount() {
+        return scoreSeriesList.size();
+    }
+
+    public ScoreSeries getScoreSeries(int index) {
+        return scoreSeriesList.get(index);
+    }
+
+    /**
+     * 设置有整个蛛网有多少层
+     * @param hierarchyCount 层数
+     * @return false：没有变化
+     */
+    public boolean setHierarchyCount(int hierarchyCount) {
+        if(hierarchyCount <= 0){
+            throw new IllegalArgumentException("hierarchyCount Can not be less than or equal to 0");
+        }
+        if(this.hierarchyCount == hierarchyCount){
+            return false;
+        }
+        this.hierarchyCount = hierarchyCount;
+        gridCacheDirty = true;
+        geometryDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置蛛网线的颜色
+     * @param lineColor 蛛网线的颜色
+     * @return false：没有变化
+     */
+    public boolean setLineColor(int lineColor) {
+        if(this.lineColor == lineColor){
+            return false;
+        }
+        ensureOwnPaints();
+        this.lineColor = lineColor;
+        linePaint.setColor(lineColor);
+        gridCacheDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置蛛网线的宽度
+     * @param lineWidth 蛛网线的宽度
+     * @return false：没有变化
+     */
+    public boolean setLineWidth(float lineWidth) {
+        if(this.lineWidth == lineWidth){
+            return false;
+        }
+        ensureOwnPaints();
+        this.lineWidth = lineWidth;
+        linePaint.setStrokeWidth(lineWidth);
+        gridCacheDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置分数图形的颜色
+     * @param scoreColor 分数图形的颜色
+     * @return false：没有变化
+     */
+    public boolean setScoreColor(int scoreColor) {
+        if(this.scoreColor == scoreColor){
+            return false;
+        }
+        ensureOwnPaints();
+        this.scoreColor = scoreColor;
+        scorePaint.setColor(scoreColor);
+        return true;
+    }
+
+    /**
+     * 设置分数图形描边的颜色
+     * @param scoreStrokeColor 分数图形描边的颜色
+     * @return false：没有变化
+     */
+    public boolean setScoreStrokeColor(int scoreStrokeColor) {
+        if(this.scoreStrokeColor == scoreStrokeColor){
+            return false;
+        }
+        ensureOwnPaints();
+        this.scoreStrokeColor = scoreStrokeColor;
+        if(scoreStrokePaint != null){
+            scoreStrokePaint.setColor(scoreStrokeColor);
+        }
+        return true;
+    }
+
+    /**
+     * 设置分数图形描边的宽度
+     * @param scoreStrokeWidth 分数图形描边的宽度
+     * @return false：没有变化
+     */
+    public boolean setScoreStrokeWidth(float scoreStrokeWidth) {
+        if(this.scoreStrokeWidth == scoreStrokeWidth){
+            return false;
+        }
+        ensureOwnPaints();
+        this.scoreStrokeWidth = scoreStrokeWidth;
+        if(scoreStrokePaint != null){
+            scoreStrokePaint.setStrokeWidth(scoreStrokeWidth);
+        }
+        return true;
+    }
+
+    /**
+     * 设置禁用分数图形的描边
+     * @param disableScoreStroke 是否禁用分数图形的描边
+     * @return false：没有变化
+     */
+    public boolean setDisableScoreStroke(boolean disableScoreStroke) {
+        if(this.disableScoreStroke == disableScoreStroke){
+            return false;
+        }
+        this.disableScoreStroke = disableScoreStroke;
+        return true;
+    }
+
+    /**
+     * 设置是否将蛛网（层和线）缓存到离屏Bitmap中，默认关闭
+     * <br>适合同一个绘制器反复绘制的场景，例如分数动画，只绘制一次的场景开启反而浪费一个Bitmap
+     * <br>创建缓存时内存不足会自动关闭缓存，需要的话可以再次调用此方法开启
+     * @param gridCacheEnabled 是否缓存蛛网
+     * @return false：没有变化
+     */
+    public boolean setGridCacheEnabled(boolean gridCacheEnabled) {
+        if(this.gridCacheEnabled == gridCacheEnabled){
+            return false;
+        }
+        this.gridCacheEnabled = gridCacheEnabled;
+        if(!gridCacheEnabled){
+            releaseGridCache();
+        }
+        return true;
+    }
+
+    /**
+     * 设置高亮显示的角，会用高亮的颜色绘制这个角的线以及分数图形在这个角上的顶点
+     * @param highlightedAxis 第几个角，-1表示不高亮
+     * @return false：没有变化
+     */
+    public boolean setHighlightedAxis(int highlightedAxis) {
+        if(this.highlightedAxis == highlightedAxis){
+            return false;
+        }
+        this.highlightedAxis = highlightedAxis;
+        return true;
+    }
+
+    public int getHighlightedAxis() {
+        return highlightedAxis;
+    }
+
+    /**
+     * 设置高亮的颜色，默认和分数图形描边的默认颜色一致
+     * @param highlightColor 高亮的颜色
+     * @return false：没有变化
+     */
+    public boolean setHighlightColor(int highlightColor) {
+        if(this.highlightColor == highlightColor){
+            return false;
+        }
+        this.highlightColor = highlightColor;
+        return true;
+    }
+
+    /**
+     * 设置高亮的线条宽度，顶点的圆点半径是它的2倍
+     * @param highlightWidth 高亮的线条宽度，单位像素
+     * @return false：没有变化
+     */
+    public boolean setHighlightWidth(float highlightWidth) {
+        if(this.highlightWidth == highlightWidth){
+            return false;
+        }
+        this.highlightWidth = highlightWidth;
+        return true;
+    }
+
+    /**
+     * 设置是否合并绘制蛛网，默认关闭
+     * <br>开启后所有的层合并成一个Path通过一次drawPath绘制，所有的线通过一次drawLines绘制，蛛网只需要2次绘制调用，而不是层数加角的个数次
+     * <br>适合角和层比较多并且开启了硬件加速、绘制调用的次数成为瓶颈的场景；合并用的Path和数组只有几何数据变化时才会重新创建
+     * @param batchDrawEnabled 是否合并绘制蛛网
+     * @return false：没有变化
+     */
+    public boolean setBatchDrawEnabled(boolean batchDrawEnabled) {
+        if(this.batchDrawEnabled == batchDrawEnabled){
+            return false;
+        }
+        this.batchDrawEnabled = batchDrawEnabled;
+        batchPrimitivesDirty = true;
+        gridCacheDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置是否开启细节层次（LOD）绘制，默认关闭，适合几百上千个角的场景
+     * <br>开启后相邻两个角在最外层上的距离小于levelOfDetailSpacing时，蛛网的线和层的顶点按固定的步长抽稀，
+     * 分数图形按同样的步长分桶并且每个桶只保留比例最大和最小的顶点，因此峰值和谷值不会丢失
+     * <br>步长只有尺寸或角的个数变化时才重新计算，分数图形保留哪些角只有分数变化时才重新计算
+     * @param levelOfDetailEnabled 是否开启细节层次绘制
+     * @return false：没有变化
+     */
+    public boolean setLevelOfDetailEnabled(boolean levelOfDetailEnabled) {
+        if(this.levelOfDetailEnabled == levelOfDetailEnabled){
+            return false;
+        }
+        this.levelOfDetailEnabled = levelOfDetailEnabled;
+        geometryDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置开始抽稀的间距，默认1像素，也就是相邻两个角的顶点落在同一个像素内时才抽稀
+     * @param levelOfDetailSpacing 相邻两个角在最外层上的最小距离，单位像素
+     * @return false：没有变化
+     */
+    public boolean setLevelOfDetailSpacing(float levelOfDetailSpacing) {
+        if(this.levelOfDetailSpacing == levelOfDetailSpacing){
+            return false;
+        }
+        this.levelOfDetailSpacing = levelOfDetailSpacing;
+        geometryDirty = true;
+        return true;
+    }
+
+    /**
+     * 设置绘制统计的回调，设置后每次绘制都会统计每个阶段的耗时、顶点个数等数据，并在绘制完成后回调
+     * <br>为null时不统计，只多了几次布尔值的判断；系统跟踪的开关见SpiderWebTrace.setEnabled(boolean)
+     * @param drawMetricsListener 绘制统计的回调
+     */
+    public void setDrawMetricsListener(DrawMetrics.Listener drawMetricsListener) {
+        this.drawMetricsListener = drawMetricsListener;
+        if(drawMetricsListener != null && drawMetrics == null){
+            drawMetrics = new DrawMetrics();
+        }
+        pendingInvalidateCount = 0;
+    }
+
+    /**
+     * 记录一次刷新请求，在下一次绘制的统计数据中通过DrawMetrics.getInvalidateCount()反馈，只有设置了绘制统计的回调时才会记录
+     */
+    public void recordInvalidate() {
+        if(drawMetricsListener != null){
+            pendingInvalidateCount++;
+        }
+    }
+
+    /**
+     * 获取上一次draw(Canvas)调用Canvas绘制方法的次数，用来确认合并绘制的效果
+     * <br>只统计绘制到传入的Canvas上的次数，重新绘制蛛网缓存的次数不包括在内；启用蛛网缓存时蛛网只算1次
+     */
+    public int getLastDrawCallCount() {
+        return lastDrawCallCount;
+    }
+
+    /**
+     * 设置分数动画的时长，默认300毫秒
+     * @param scoreAnimationDuration 分数动画的时长，单位毫秒
+     */
+    public void setScoreAnimationDuration(long scoreAnimationDuration) {
+        if(scoreAnimationDuration < 0){
+            throw new IllegalArgumentException("scoreAnimationDuration Can not be less than 0");
+        }
+        this.scoreAnimationDuration = scoreAnimationDuration;
+    }
+
+    /**
+     * 设置分数动画的插值器，默认为DecelerateInterpolator
+     * @param scoreInterpolator 分数动画的插值器，为null时匀速过渡
+     */
+    public void setScoreInterpolator(Interpolator scoreInterpolator) {
+        this.scoreInterpolator = scoreInterpolator;
+    }
+
+    /**
+     * 分数动画是否还在进行中，在draw(Canvas)之后调用，返回true时需要继续绘制下一帧
+     */
+    public boolean isScoreAnimating() {
+        return scoreAnimating;
+    }
+
+    public int getAngleCount() {
+        return angleCount;
+    }
+
+    public int getHierarchyCount() {
+        return hierarchyCount;
+    }
+
+    public float getMaxScore() {
+        return maxScore;
+    }
+}
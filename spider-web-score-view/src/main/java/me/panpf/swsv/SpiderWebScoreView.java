@@ -19,34 +19,27 @@ package me.panpf.swsv;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
 import android.util.AttributeSet;
+import android.view.MotionEvent;
 import android.view.View;
+import android.view.animation.Interpolator;
+
+import me.panpf.swsv.core.RadarScale;
 
 /**
  * 蛛网评分图，支持任意条边以及任意层级
+ * <br>具体的绘制由SpiderWebRenderer完成
  */
 public class SpiderWebScoreView extends View {
-    private int angleCount = 5; // 整个蛛网有几个角
-    private int hierarchyCount = 5;  // 整个蛛网分多少层（例如最大分数是10分，分5层，那么每层就代表2分）
-    private int lineColor = 0xFF000000; // 蛛网线条的颜色
-    private float lineWidth = -1; // 蛛网线条的宽度
-
-    private float maxScore = 10f;   // 最大分数
-    private float[] scores;  // 分数列表
-    private int scoreColor = 0x80F65801; // 分数图形的颜色
-    private int scoreStrokeColor = 0xFFF65801; // 分数图形描边的颜色
-    private float scoreStrokeWidth = -1; // 分数图形描边的宽度
-    private boolean disableScoreStroke; // 禁用分数图形的描边
-    private Paint scorePaint;
-    private Paint scoreStrokePaint;
-
-    private float centerX;    // 中心点X坐标
-    private float centerY;    // 中心点Y坐标
-    private float radius; // 整个蛛网图的半径
-    private Paint linePaint;
-    private Path path;
+    private SpiderWebRenderer renderer;
+    private boolean scoreAnimationEnabled;  // setScores(float, float[])是否以动画的方式过渡到新的分数
+    private Editor editor;
+    private LiveScoreSource liveScoreSource;
+    private OnAxisSelectedListener onAxisSelectedListener;
+    private float vertexTouchRadius;   // 点击分数图形顶点的有效半径
+    private Rect dirtyRect = new Rect();
 
     public SpiderWebScoreView(Context context) {
         super(context);
@@ -64,27 +57,25 @@ public class SpiderWebScoreView extends View {
     }
 
     private void init(Context context, AttributeSet attrs) {
+        renderer = new SpiderWebRenderer();
+        renderer.setGridCacheEnabled(true);
+        renderer.setSharedGeometryEnabled(true);
+
+        float density = context.getResources().getDisplayMetrics().density;
+        renderer.setLabelTextSize(10 * density);
+        renderer.setLabelTextColor(0xFF000000);
+        renderer.setLabelSpacing((int) (density * 8 + 0.5f));
+        renderer.setLabelIconPadding((int) (density * 4 + 0.5f));
+        renderer.setHighlightWidth(density * 2);
+        vertexTouchRadius = density * 16;
+
         if(attrs != null){
             parseAttrs(context, attrs);
         }
 
-        linePaint = new Paint();
-        linePaint.setColor(lineColor);
-        linePaint.setStyle(Paint.Style.STROKE);
-        linePaint.setAntiAlias(true);
-        if(lineWidth > 0){
-            linePaint.setStrokeWidth(lineWidth);
-        }
-
-        scorePaint = new Paint();
-        scorePaint.setColor(scoreColor);
-        scorePaint.setStyle(Paint.Style.FILL_AND_STROKE);
-        scorePaint.setAntiAlias(true);
-
-        path = new Path();
-
         if(isInEditMode()){
             float[] randomScoreArray = new float[]{7.0f, 8.0f, 5.0f, 5.0f, 8.0f};
+            int angleCount = renderer.getAngleCount();
             float[] testScores = new float[angleCount];
             int index = 0;
             for(int w = 0; w < angleCount; w++){
@@ -97,16 +88,39 @@ public class SpiderWebScoreView extends View {
     private void parseAttrs(Context context, AttributeSet attrs){
         TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.SpiderWebScoreView);
 
-        setAngleCount(typedArray.getInt(R.styleable.SpiderWebScoreView_angleCount, angleCount));
-        setHierarchyCount(typedArray.getInt(R.styleable.SpiderWebScoreView_hierarchyCount, hierarchyCount));
-        setMaxScore(typedArray.getFloat(R.styleable.SpiderWebScoreView_maxScore, maxScore));
+        renderer.setAngleCount(typedArray.getInt(R.styleable.SpiderWebScoreView_angleCount, renderer.getAngleCount()));
+        renderer.setHierarchyCount(typedArray.getInt(R.styleable.SpiderWebScoreView_hierarchyCount, renderer.getHierarchyCount()));
+        renderer.setMaxScore(typedArray.getFloat(R.styleable.SpiderWebScoreView_maxScore, renderer.getMaxScore()));
+
+        if(typedArray.hasValue(R.styleable.SpiderWebScoreView_lineColor)){
+            renderer.setLineColor(typedArray.getColor(R.styleable.SpiderWebScoreView_lineColor, 0));
+        }
+        if(typedArray.hasValue(R.styleable.SpiderWebScoreView_lineWidth)){
+            renderer.setLineWidth(typedArray.getDimension(R.styleable.SpiderWebScoreView_lineWidth, 0));
+        }
+        if(typedArray.hasValue(R.styleable.SpiderWebScoreView_scoreColor)){
+            renderer.setScoreColor(typedArray.getColor(R.styleable.SpiderWebScoreView_scoreColor, 0));
+        }
+        if(typedArray.hasValue(R.styleable.SpiderWebScoreView_scoreStrokeColor)){
+            renderer.setScoreStrokeColor(typedArray.getColor(R.styleable.SpiderWebScoreView_scoreStrokeColor, 0));
+        }
+        if(typedArray.hasValue(R.styleable.SpiderWebScoreView_scoreStrokeWidth)){
+            renderer.setScoreStrokeWidth(typedArray.getDimension(R.styleable.SpiderWebScoreView_scoreStrokeWidth, 0));
+        }
+        renderer.setDisableScoreStroke(typedArray.getBoolean(R.styleable.SpiderWebScoreView_disableScoreStroke, false));
 
-        setLineColor(typedArray.getColor(R.styleable.SpiderWebScoreView_lineColor, lineColor));
-        setLineWidth(typedArray.getDimension(R.styleable.SpiderWebScoreView_lineWidth, lineWidth));
-        setScoreColor(typedArray.getColor(R.styleable.SpiderWebScoreView_scoreColor, scoreColor));
-        setScoreStrokeColor(typedArray.getColor(R.styleable.SpiderWebScoreView_scoreStrokeColor, scoreStrokeColor));
-        setScoreStrokeWidth(typedArray.getDimension(R.styleable.SpiderWebScoreView_scoreStrokeWidth, scoreStrokeWidth));
-        setDisableScoreStroke(typedArray.getBoolean(R.styleable.SpiderWebScoreView_disableScoreStroke, disableScoreStroke));
+        if(typedArray.hasValue(R.styleable.SpiderWebScoreView_labelTextSize)){
+            renderer.setLabelTextSize(typedArray.getDimension(R.styleable.SpiderWebScoreView_labelTextSize, 0));
+        }
+        if(typedArray.hasValue(R.styleable.SpiderWebScoreView_labelTextColor)){
+            renderer.setLabelTextColor(typedArray.getColor(R.styleable.SpiderWebScoreView_labelTextColor, 0));
+        }
+        if(typedArray.hasValue(R.styleable.SpiderWebScoreView_labelSpacing)){
+            renderer.setLabelSpacing(typedArray.getDimension(R.styleable.SpiderWebScoreView_labelSpacing, 0));
+        }
+        if(typedArray.hasValue(R.styleable.SpiderWebScoreView_labelIconPadding)){
+            renderer.setLabelIconPadding(typedArray.getDimension(R.styleable.SpiderWebScoreView_labelIconPadding, 0));
+        }
 
         typedArray.recycle();
     }
@@ -114,178 +128,266 @@ public class SpiderWebScoreView extends View {
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        reset();
+        renderer.setSize(w, h);
     }
 
-    private void reset(){
-        if(angleCount != 0 && hierarchyCount != 0){
-            int viewWidth = getWidth();
-            int viewHeight = getHeight();
-            centerX = viewWidth / 2;
-            centerY = viewHeight / 2;
-            radius = Math.min(viewWidth, viewHeight) / 2;
-        }
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        renderer.releaseGridCache();
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
-        drawAllHierarchy(canvas);
-        drawAllLine(canvas);
-        drawScore(canvas);
+        if(liveScoreSource != null){
+            liveScoreSource.pull(renderer);
+        }
+        renderer.draw(canvas);
+        if(renderer.isScoreAnimating()){
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if(onAxisSelectedListener == null || !isEnabled()){
+            return super.onTouchEvent(event);
+        }
+
+        switch (event.getActionMasked()){
+            case MotionEvent.ACTION_DOWN:
+                if(renderer.findAxis(event.getX(), event.getY()) < 0){
+                    return false;
+                }
+                // 拖动选择的过程中不让父View拦截，例如在ScrollView中
+                if(getParent() != null){
+                    getParent().requestDisallowInterceptTouchEvent(true);
+                }
+                selectAxisAt(event.getX(), event.getY());
+                return true;
+            case MotionEvent.ACTION_MOVE:
+                selectAxisAt(event.getX(), event.getY());
+                return true;
+            case MotionEvent.ACTION_UP:
+                performClick();
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                return true;
+            default:
+                return super.onTouchEvent(event);
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
     }
 
     /**
-     * 绘制所有的层
-     * @param canvas Canvas
+     * 选中给定的点所在的角，点在某个分数图形顶点附近时优先选中这个顶点所在的角，选中的角发生变化时才回调
      */
-    private void drawAllHierarchy(Canvas canvas) {
-        float averageRadius = radius / hierarchyCount;
-        for(int w = 0; w < hierarchyCount; w++){
-            drawHierarchyByRadius(canvas, averageRadius *(w+1));
+    private void selectAxisAt(float x, float y) {
+        int axis = renderer.findAxis(x, y);
+        if(axis < 0){
+            return;
+        }
+        int vertex = renderer.findScoreVertex(x, y, vertexTouchRadius);
+        int selectedAxis = vertex >= 0 ? vertex : axis;
+        if(renderer.setHighlightedAxis(selectedAxis)){
+            invalidate();
+            onAxisSelectedListener.onAxisSelected(this, selectedAxis, vertex >= 0);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if(renderer != null){
+            renderer.recordInvalidate();
+        }
+    }
+
+    @Override
+    public void invalidate(int l, int t, int r, int b) {
+        super.invalidate(l, t, r, b);
+        if(renderer != null){
+            renderer.recordInvalidate();
         }
     }
 
     /**
-     * 根据半径绘制一层
-     * @param canvas Canvas
-     * @param currentRadius 当前半径
+     * 获取绘制器
      */
-    private void drawHierarchyByRadius(Canvas canvas, float currentRadius) {
-        path.reset();
-
-        float nextAngle;
-        float nextRadians;
-        float nextPointX;
-        float nextPointY;
-        float averageAngle = 360 / angleCount;
-        float offsetAngle = averageAngle > 0 && angleCount % 2 == 0 ? averageAngle / 2 : 0;
-        for (int position = 0; position < angleCount; position++) {
-            nextAngle = offsetAngle + (position * averageAngle);
-            nextRadians = (float) Math.toRadians(nextAngle);
-            nextPointX = (float) (centerX + Math.sin(nextRadians) * currentRadius);
-            nextPointY = (float) (centerY - Math.cos(nextRadians) * currentRadius);
+    public SpiderWebRenderer getRenderer() {
+        return renderer;
+    }
 
-            if(position == 0){
-                path.moveTo(nextPointX, nextPointY);
-            }else{
-                path.lineTo(nextPointX, nextPointY);
-            }
+    /**
+     * 开始批量修改属性，所有的修改都会暂存在Editor中，直到调用Editor.apply()才一起生效
+     * <br>apply()时会跳过没有变化的属性，几何数据最多只会重新计算一次，并且只刷新一次，只有分数变化时只刷新分数图形所在的区域
+     * <br>适合切换主题等需要同时修改多个属性的场景，返回的Editor会被复用，因此不要同时开始多次修改
+     */
+    public Editor edit() {
+        if(editor == null){
+            editor = new Editor();
         }
+        editor.clear();
+        return editor;
+    }
 
-        path.close();
-        canvas.drawPath(path, linePaint);
+    /**
+     * 绑定实时分数源，之后每次绘制前都会从中取最新的分数快照，适合在工作线程中高频率更新分数的场景，必须在主线程调用
+     * @param liveScoreSource 实时分数源，为null时解除绑定并保留最后一次的分数
+     */
+    public void setLiveScoreSource(LiveScoreSource liveScoreSource) {
+        if(this.liveScoreSource == liveScoreSource){
+            return;
+        }
+        if(this.liveScoreSource != null){
+            this.liveScoreSource.detach();
+        }
+        this.liveScoreSource = liveScoreSource;
+        if(liveScoreSource != null){
+            liveScoreSource.attach(this);
+        }
+        invalidate();
     }
 
     /**
-     * 绘制所有的线
-     * @param canvas Canvas
+     * 设置分数，有多少个人数就有多少个角，开启了分数动画（{@link #setScoreAnimationEnabled(boolean)}）时会以动画的方式过渡到新的分数
+     * @param maxScore 最大分数
+     * @param scores 分数
      */
-    private void drawAllLine(Canvas canvas){
-        float nextAngle;
-        float nextRadians;
-        float nextPointX;
-        float nextPointY;
-        float averageAngle = 360 / angleCount;
-        float offsetAngle = averageAngle > 0 && angleCount % 2 == 0 ? averageAngle / 2 : 0;
-        for(int position = 0; position < angleCount; position++){
-            nextAngle = offsetAngle + (position * averageAngle);
-            nextRadians = (float) Math.toRadians(nextAngle);
-            nextPointX = (float) (centerX + Math.sin(nextRadians) * radius);
-            nextPointY = (float) (centerY - Math.cos(nextRadians) * radius);
+    public void setScores(float maxScore, float[] scores) {
+        setScores(maxScore, scores, scoreAnimationEnabled);
+    }
 
-            canvas.drawLine(centerX, centerY, nextPointX, nextPointY, linePaint);
+    /**
+     * 设置分数，有多少个人数就有多少个角
+     * @param maxScore 最大分数
+     * @param scores 分数
+     * @param animate 是否以动画的方式从当前的分数过渡到新的分数，角的个数发生变化时会从旧图形在新的角上的位置开始过渡
+     */
+    public void setScores(float maxScore, float[] scores, boolean animate) {
+        if(renderer.setScores(maxScore, scores, animate)){
+            invalidateScore();
         }
     }
 
     /**
-     * 绘制分数图形
-     * @param canvas Canvas
+     * 只修改一个角的分数，只重新计算这一个顶点并且只刷新这个顶点和相邻两条边所在的区域，适合拖动修改单个分数的场景
+     * <br>开启了分数动画（{@link #setScoreAnimationEnabled(boolean)}）时会以动画的方式过渡到新的分数
+     * @param index 第几个角
+     * @param score 新的分数
      */
-    private void drawScore(Canvas canvas){
-        if(scores == null || scores.length <= 0){
+    public void updateScore(int index, float score) {
+        updateScore(index, score, scoreAnimationEnabled);
+    }
+
+    /**
+     * 只修改一个角的分数，只重新计算这一个顶点并且只刷新这个顶点和相邻两条边所在的区域，适合拖动修改单个分数的场景
+     * @param index 第几个角
+     * @param score 新的分数
+     * @param animate 是否以动画的方式过渡到新的分数
+     */
+    public void updateScore(int index, float score, boolean animate) {
+        if(!renderer.updateScore(index, score, animate)){
             return;
         }
-
-        path.reset();
-
-        float nextAngle;
-        float nextRadians;
-        float nextPointX;
-        float nextPointY;
-        float currentRadius;
-        float averageAngle = 360 / angleCount;
-        float offsetAngle = averageAngle > 0 && angleCount % 2 == 0 ? averageAngle / 2 : 0;
-        for (int position = 0; position < angleCount; position++) {
-            currentRadius = (scores[position] / maxScore) * radius;
-            nextAngle = offsetAngle + (position * averageAngle);
-            nextRadians = (float) Math.toRadians(nextAngle);
-            nextPointX = (float) (centerX + Math.sin(nextRadians) * currentRadius);
-            nextPointY = (float) (centerY - Math.cos(nextRadians) * currentRadius);
-
-            if(position == 0){
-                path.moveTo(nextPointX, nextPointY);
-            }else{
-                path.lineTo(nextPointX, nextPointY);
-            }
+        if(renderer.getScoreVertexDirtyBounds(dirtyRect)){
+            postInvalidate(dirtyRect.left, dirtyRect.top, dirtyRect.right, dirtyRect.bottom);
+        }else{
+            invalidateScore();
         }
+    }
 
-        path.close();
-        canvas.drawPath(path, scorePaint);
+    /**
+     * 设置分数刻度，各个角的量纲不一样时（例如0~10、0~100、0~1混在一起）不需要自己先换算，直接设置原始分数即可
+     * <br>每个角可以有自己的范围以及线性、对数、百分位三种换算方式，只在设置分数时换算一次；刻度的角的个数和分数的个数不一致时不起作用，仍然除以最大分数
+     * @param scoreScale 分数刻度，为null时都除以最大分数
+     */
+    public void setScoreScale(RadarScale scoreScale) {
+        if(renderer.setScoreScale(scoreScale)){
+            invalidateScore();
+        }
+    }
 
-        // 绘制描边
-        if(!disableScoreStroke){
-            if(scoreStrokePaint == null){
-                scoreStrokePaint = new Paint();
-                scoreStrokePaint.setColor(scoreStrokeColor);
-                scoreStrokePaint.setStyle(Paint.Style.STROKE);
-                scoreStrokePaint.setAntiAlias(true);
-                if(scoreStrokeWidth > 0){
-                    scoreStrokePaint.setStrokeWidth(scoreStrokeWidth);
-                }
-            }
-            canvas.drawPath(path, scoreStrokePaint);
+    /**
+     * 只有分数变化时调用，角的个数没变时只刷新分数图形所在的区域
+     */
+    private void invalidateScore() {
+        if(renderer.getScoreDirtyBounds(dirtyRect)){
+            postInvalidate(dirtyRect.left, dirtyRect.top, dirtyRect.right, dirtyRect.bottom);
+        }else{
+            postInvalidate();
         }
     }
 
     /**
-     * 设置蛛网有多少个角
-     * @param angleCount 蛛网有多少个角
+     * 绑定一份蛛网评分图数据，适合在RecyclerView等列表中使用，必须在主线程调用
+     * <br>会和当前的状态逐项对比，没有任何变化时直接返回；只有分数变化时只更新分数图形；只有角的个数、层数以及蛛网线的样式变化时才会重新计算几何数据和蛛网缓存
+     * <br>不会播放分数动画
+     * @param chart 蛛网评分图数据
      */
-    private void setAngleCount(int angleCount) {
-        if(angleCount <= 2){
-            throw new IllegalArgumentException("angleCount Can not be less than or equal to 2");
+    public void bind(SpiderWebChart chart) {
+        if(renderer.setChart(chart)){
+            invalidate();
         }
-        this.angleCount = angleCount;
-        reset();
+    }
+
+    /**
+     * 添加一组叠加显示的分数，所有分数组共用一个蛛网并在同一次onDraw中绘制，按添加的顺序绘制在主分数图形之上
+     * <br>分数的个数必须和角的个数一致，否则不会绘制
+     * @param series 分数组
+     */
+    public void addScoreSeries(ScoreSeries series) {
+        renderer.addScoreSeries(series);
         postInvalidate();
     }
 
     /**
-     * 设置最大分数
-     * @param maxScore 最大分数
+     * 删除一组叠加显示的分数
+     * @param series 分数组
+     * @return false：没有找到
      */
-    private void setMaxScore(float maxScore) {
-        if(maxScore <= 0){
-            throw new IllegalArgumentException("maxScore Can not be less than or equal to 0");
+    public boolean removeScoreSeries(ScoreSeries series) {
+        boolean removed = renderer.removeScoreSeries(series);
+        if(removed){
+            postInvalidate();
         }
-        this.maxScore = maxScore;
+        return removed;
     }
 
     /**
-     * 设置分数，有多少个人数就有多少个角
-     * @param maxScore 最大分数
-     * @param scores 分数
+     * 删除所有叠加显示的分数
      */
-    public void setScores(float maxScore, float[] scores) {
-        if(scores == null || scores.length == 0){
-            throw new IllegalArgumentException("scores Can't be null or empty");
+    public void clearScoreSeries() {
+        if(renderer.clearScoreSeries()){
+            postInvalidate();
         }
-        setMaxScore(maxScore);
-        this.scores = scores;
-        this.angleCount = scores.length;
-        reset();
+    }
+
+    /**
+     * 获取叠加显示的分数组的个数
+     */
+    public int getScoreSeriesCount() {
+        return renderer.getScoreSeriesCount();
+    }
+
+    /**
+     * 获取指定位置的叠加显示的分数组
+     * @param index 位置
+     */
+    public ScoreSeries getScoreSeries(int index) {
+        return renderer.getScoreSeries(index);
+    }
+
+    /**
+     * 修改了已添加的ScoreSeries的分数或样式后调用此方法刷新
+     */
+    public void notifyScoreSeriesChanged() {
         postInvalidate();
     }
 
@@ -294,12 +396,9 @@ public class SpiderWebScoreView extends View {
      * @param hierarchyCount 层数
      */
     public void setHierarchyCount(int hierarchyCount) {
-        if(hierarchyCount <= 0){
-            throw new IllegalArgumentException("hierarchyCount Can not be less than or equal to 0");
+        if(renderer.setHierarchyCount(hierarchyCount)){
+            postInvalidate();
         }
-        this.hierarchyCount = hierarchyCount;
-        reset();
-        postInvalidate();
     }
 
     /**
@@ -307,11 +406,9 @@ public class SpiderWebScoreView extends View {
      * @param lineColor 蛛网线的颜色
      */
     public void setLineColor(int lineColor) {
-        this.lineColor = lineColor;
-        if(linePaint != null){
-            linePaint.setColor(lineColor);
+        if(renderer.setLineColor(lineColor)){
+            postInvalidate();
         }
-        postInvalidate();
     }
 
     /**
@@ -319,11 +416,9 @@ public class SpiderWebScoreView extends View {
      * @param lineWidth 蛛网线的宽度
      */
     public void setLineWidth(float lineWidth) {
-        this.lineWidth = lineWidth;
-        if(linePaint != null){
-            linePaint.setStrokeWidth(lineWidth);
+        if(renderer.setLineWidth(lineWidth)){
+            postInvalidate();
         }
-        postInvalidate();
     }
 
     /**
@@ -331,11 +426,9 @@ public class SpiderWebScoreView extends View {
      * @param scoreColor 分数图形的颜色
      */
     public void setScoreColor(int scoreColor) {
-        this.scoreColor = scoreColor;
-        if(scorePaint != null){
-            scorePaint.setColor(scoreColor);
+        if(renderer.setScoreColor(scoreColor)){
+            postInvalidate();
         }
-        postInvalidate();
     }
 
     /**
@@ -343,11 +436,9 @@ public class SpiderWebScoreView extends View {
      * @param scoreStrokeColor 分数图形描边的颜色
      */
     public void setScoreStrokeColor(int scoreStrokeColor) {
-        this.scoreStrokeColor = scoreStrokeColor;
-        if(scoreStrokePaint != null){
-            scoreStrokePaint.setColor(scoreStrokeColor);
+        if(renderer.setScoreStrokeColor(scoreStrokeColor)){
+            postInvalidate();
         }
-        postInvalidate();
     }
 
     /**
@@ -355,11 +446,149 @@ public class SpiderWebScoreView extends View {
      * @param scoreStrokeWidth 分数图形描边的宽度
      */
     public void setScoreStrokeWidth(float scoreStrokeWidth) {
-        this.scoreStrokeWidth = scoreStrokeWidth;
-        if(scoreStrokePaint != null){
-            scoreStrokePaint.setStrokeWidth(scoreStrokeWidth);
+        if(renderer.setScoreStrokeWidth(scoreStrokeWidth)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置是否将蛛网（层和线）缓存到离屏Bitmap中，默认开启
+     * <br>开启后只有尺寸、角的个数、层数、蛛网线的颜色和宽度发生变化时才会重新绘制蛛网，每帧只需绘制缓存和分数图形，代价是多占用一个View尺寸大小的Bitmap
+     * @param gridCacheEnabled 是否缓存蛛网
+     */
+    public void setGridCacheEnabled(boolean gridCacheEnabled) {
+        if(renderer.setGridCacheEnabled(gridCacheEnabled)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 使用共享的样式，多个样式相同的SpiderWebScoreView共用同一组画笔，适合一屏有大量图形的场景
+     * <br>之后再通过setLineColor(int)等方法单独修改这个View的样式时会先拷贝一份自己的画笔，不会影响其它View
+     * @param style 共享的样式，为null时改回使用自己的画笔
+     */
+    public void setStyle(SpiderWebStyle style) {
+        if(renderer.setStyle(style)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置是否合并绘制蛛网，默认关闭，开启后所有的层通过一次drawPath绘制，所有的线通过一次drawLines绘制
+     * <br>关闭了蛛网缓存并且角和层比较多时，可以大幅减少每帧的绘制调用次数
+     * @param batchDrawEnabled 是否合并绘制蛛网
+     */
+    public void setBatchDrawEnabled(boolean batchDrawEnabled) {
+        if(renderer.setBatchDrawEnabled(batchDrawEnabled)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置是否开启细节层次（LOD）绘制，默认关闭，适合几百上千个角的场景
+     * <br>开启后相邻两个角的顶点落在同一个像素内时，蛛网的线和层按步长抽稀，分数图形只保留每段中的峰值和谷值
+     * @param levelOfDetailEnabled 是否开启细节层次绘制
+     */
+    public void setLevelOfDetailEnabled(boolean levelOfDetailEnabled) {
+        if(renderer.setLevelOfDetailEnabled(levelOfDetailEnabled)){
+            postInvalidate();
         }
-        postInvalidate();
+    }
+
+    /**
+     * 设置开始抽稀的间距，默认1像素
+     * @param levelOfDetailSpacing 相邻两个角在最外层上的最小距离，单位像素
+     */
+    public void setLevelOfDetailSpacing(float levelOfDetailSpacing) {
+        if(renderer.setLevelOfDetailSpacing(levelOfDetailSpacing)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置绘制统计的回调，设置后每次onDraw都会统计每个阶段的耗时、顶点个数以及这一帧之前请求刷新的次数，用来分析卡顿
+     * <br>为null时不统计，几乎没有额外的开销；系统跟踪的开关见SpiderWebTrace.setEnabled(boolean)
+     * @param drawMetricsListener 绘制统计的回调，在主线程中回调
+     */
+    public void setDrawMetricsListener(DrawMetrics.Listener drawMetricsListener) {
+        renderer.setDrawMetricsListener(drawMetricsListener);
+    }
+
+    /**
+     * 设置选中角的回调，设置后点击或者拖动时会选中手指所在扇区的角（手指在分数图形顶点附近时优先选中这个顶点）并高亮显示
+     * <br>判断手指所在的扇区只需要一次atan2，和角的个数无关，并且不会创建任何对象，因此拖动选择也很流畅
+     * @param onAxisSelectedListener 选中角的回调，为null时不处理触摸事件
+     */
+    public void setOnAxisSelectedListener(OnAxisSelectedListener onAxisSelectedListener) {
+        this.onAxisSelectedListener = onAxisSelectedListener;
+    }
+
+    /**
+     * 设置选中的角，会高亮显示，不会回调OnAxisSelectedListener
+     * @param selectedAxis 第几个角，-1表示取消选中
+     */
+    public void setSelectedAxis(int selectedAxis) {
+        if(renderer.setHighlightedAxis(selectedAxis)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 获取选中的角，-1表示没有选中
+     */
+    public int getSelectedAxis() {
+        return renderer.getHighlightedAxis();
+    }
+
+    /**
+     * 设置选中的角的高亮颜色
+     * @param highlightColor 高亮颜色
+     */
+    public void setHighlightColor(int highlightColor) {
+        if(renderer.setHighlightColor(highlightColor)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置选中的角的高亮线条宽度，默认2dp
+     * @param highlightWidth 高亮线条宽度，单位像素
+     */
+    public void setHighlightWidth(float highlightWidth) {
+        if(renderer.setHighlightWidth(highlightWidth)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 获取上一次onDraw调用Canvas绘制方法的次数
+     */
+    public int getLastDrawCallCount() {
+        return renderer.getLastDrawCallCount();
+    }
+
+    /**
+     * 设置setScores(float, float[])是否以动画的方式过渡到新的分数，默认关闭
+     * @param scoreAnimationEnabled 是否开启分数动画
+     */
+    public void setScoreAnimationEnabled(boolean scoreAnimationEnabled) {
+        this.scoreAnimationEnabled = scoreAnimationEnabled;
+    }
+
+    /**
+     * 设置分数动画的时长，默认300毫秒
+     * @param scoreAnimationDuration 分数动画的时长，单位毫秒
+     */
+    public void setScoreAnimationDuration(long scoreAnimationDuration) {
+        renderer.setScoreAnimationDuration(scoreAnimationDuration);
+    }
+
+    /**
+     * 设置分数动画的插值器，默认为DecelerateInterpolator
+     * @param scoreInterpolator 分数动画的插值器，为null时匀速过渡
+     */
+    public void setScoreInterpolator(Interpolator scoreInterpolator) {
+        renderer.setScoreInterpolator(scoreInterpolator);
     }
 
     /**
@@ -367,7 +596,261 @@ public class SpiderWebScoreView extends View {
      * @param disableScoreStroke 是否禁用分数图形的描边
      */
     public void setDisableScoreStroke(boolean disableScoreStroke) {
-        this.disableScoreStroke = disableScoreStroke;
-        postInvalidate();
+        if(renderer.setDisableScoreStroke(disableScoreStroke)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置每个角外面显示的文案，直接绘制在蛛网外面，不需要再搭配CircularLayout使用
+     * <br>文案会占用View的空间，因此蛛网会相应的变小；文案的个数必须和角的个数一致，否则不会绘制
+     * @param labels 文案，为null时不显示文案
+     */
+    public void setLabels(CharSequence[] labels) {
+        if(renderer.setLabels(labels)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置每个文案右边显示的图标
+     * @param labelIcons 图标，个数和文案一致，某一个为null时那个文案不显示图标
+     */
+    public void setLabelIcons(Drawable[] labelIcons) {
+        if(renderer.setLabelIcons(labelIcons)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置文案的文字大小，默认10dp
+     * @param labelTextSize 文字大小，单位像素
+     */
+    public void setLabelTextSize(float labelTextSize) {
+        if(renderer.setLabelTextSize(labelTextSize)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置文案的文字颜色，默认黑色
+     * @param labelTextColor 文字颜色
+     */
+    public void setLabelTextColor(int labelTextColor) {
+        if(renderer.setLabelTextColor(labelTextColor)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置文案与蛛网之间的间距，默认8dp
+     * @param labelSpacing 间距，单位像素
+     */
+    public void setLabelSpacing(float labelSpacing) {
+        if(renderer.setLabelSpacing(labelSpacing)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 设置文案和图标之间的间距，默认4dp
+     * @param labelIconPadding 间距，单位像素
+     */
+    public void setLabelIconPadding(float labelIconPadding) {
+        if(renderer.setLabelIconPadding(labelIconPadding)){
+            postInvalidate();
+        }
+    }
+
+    /**
+     * 选中角的回调
+     */
+    public interface OnAxisSelectedListener {
+        /**
+         * 选中的角发生了变化
+         * @param view SpiderWebScoreView
+         * @param axis 选中的是第几个角
+         * @param onScoreVertex 是否点在了分数图形的顶点上
+         */
+        void onAxisSelected(SpiderWebScoreView view, int axis, boolean onScoreVertex);
+    }
+
+    /**
+     * 批量修改属性，通过SpiderWebScoreView.edit()获取，修改完后调用apply()一起生效
+     */
+    public class Editor {
+        private static final int FLAG_SCORES = 1;
+        private static final int FLAG_HIERARCHY_COUNT = 1 << 1;
+        private static final int FLAG_LINE_COLOR = 1 << 2;
+        private static final int FLAG_LINE_WIDTH = 1 << 3;
+        private static final int FLAG_SCORE_COLOR = 1 << 4;
+        private static final int FLAG_SCORE_STROKE_COLOR = 1 << 5;
+        private static final int FLAG_SCORE_STROKE_WIDTH = 1 << 6;
+        private static final int FLAG_DISABLE_SCORE_STROKE = 1 << 7;
+        private static final int FLAG_LABELS = 1 << 8;
+        private static final int FLAG_LABEL_ICONS = 1 << 9;
+        private static final int FLAG_LABEL_TEXT_SIZE = 1 << 10;
+        private static final int FLAG_LABEL_TEXT_COLOR = 1 << 11;
+        private static final int FLAG_LABEL_SPACING = 1 << 12;
+        private static final int FLAG_LABEL_ICON_PADDING = 1 << 13;
+
+        private int flags;  // 哪些属性被修改了
+        private float maxScore;
+        private float[] scores;
+        private boolean animate;
+        private int hierarchyCount;
+        private int lineColor;
+        private float lineWidth;
+        private int scoreColor;
+        private int scoreStrokeColor;
+        private float scoreStrokeWidth;
+        private boolean disableScoreStroke;
+        private CharSequence[] labels;
+        private Drawable[] labelIcons;
+        private float labelTextSize;
+        private int labelTextColor;
+        private float labelSpacing;
+        private float labelIconPadding;
+
+        private Editor() {
+        }
+
+        private void clear() {
+            flags = 0;
+            scores = null;
+            labels = null;
+            labelIcons = null;
+        }
+
+        /**
+         * 设置分数，开启了分数动画时会以动画的方式过渡到新的分数
+         * @param maxScore 最大分数
+         * @param scores 分数，apply()时才会拷贝，因此在此之前不要修改
+         */
+        public Editor setScores(float maxScore, float[] scores) {
+            return setScores(maxScore, scores, scoreAnimationEnabled);
+        }
+
+        /**
+         * 设置分数
+         * @param maxScore 最大分数
+         * @param scores 分数，apply()时才会拷贝，因此在此之前不要修改
+         * @param animate 是否以动画的方式从当前的分数过渡到新的分数
+         */
+        public Editor setScores(float maxScore, float[] scores, boolean animate) {
+            this.maxScore = maxScore;
+            this.scores = scores;
+            this.animate = animate;
+            flags |= FLAG_SCORES;
+            return this;
+        }
+
+        public Editor setHierarchyCount(int hierarchyCount) {
+            this.hierarchyCount = hierarchyCount;
+            flags |= FLAG_HIERARCHY_COUNT;
+            return this;
+        }
+
+        public Editor setLineColor(int lineColor) {
+            this.lineColor = lineColor;
+            flags |= FLAG_LINE_COLOR;
+            return this;
+        }
+
+        public Editor setLineWidth(float lineWidth) {
+            this.lineWidth = lineWidth;
+            flags |= FLAG_LINE_WIDTH;
+            return this;
+        }
+
+        public Editor setScoreColor(int scoreColor) {
+            this.scoreColor = scoreColor;
+            flags |= FLAG_SCORE_COLOR;
+            return this;
+        }
+
+        public Editor setScoreStrokeColor(int scoreStrokeColor) {
+            this.scoreStrokeColor = scoreStrokeColor;
+            flags |= FLAG_SCORE_STROKE_COLOR;
+            return this;
+        }
+
+        public Editor setScoreStrokeWidth(float scoreStrokeWidth) {
+            this.scoreStrokeWidth = scoreStrokeWidth;
+            flags |= FLAG_SCORE_STROKE_WIDTH;
+            return this;
+        }
+
+        public Editor setDisableScoreStroke(boolean disableScoreStroke) {
+            this.disableScoreStroke = disableScoreStroke;
+            flags |= FLAG_DISABLE_SCORE_STROKE;
+            return this;
+        }
+
+        public Editor setLabels(CharSequence[] labels) {
+            this.labels = labels;
+            flags |= FLAG_LABELS;
+            return this;
+        }
+
+        public Editor setLabelIcons(Drawable[] labelIcons) {
+            this.labelIcons = labelIcons;
+            flags |= FLAG_LABEL_ICONS;
+            return this;
+        }
+
+        public Editor setLabelTextSize(float labelTextSize) {
+            this.labelTextSize = labelTextSize;
+            flags |= FLAG_LABEL_TEXT_SIZE;
+            return this;
+        }
+
+        public Editor setLabelTextColor(int labelTextColor) {
+            this.labelTextColor = labelTextColor;
+            flags |= FLAG_LABEL_TEXT_COLOR;
+            return this;
+        }
+
+        public Editor setLabelSpacing(float labelSpacing) {
+            this.labelSpacing = labelSpacing;
+            flags |= FLAG_LABEL_SPACING;
+            return this;
+        }
+
+        public Editor setLabelIconPadding(float labelIconPadding) {
+            this.labelIconPadding = labelIconPadding;
+            flags |= FLAG_LABEL_ICON_PADDING;
+            return this;
+        }
+
+        /**
+         * 让所有的修改一起生效，没有变化的属性会被跳过，有变化时只刷新一次
+         * @return false：没有任何变化
+         */
+        public boolean apply() {
+            boolean styleChanged = false;
+            if((flags & FLAG_HIERARCHY_COUNT) != 0) styleChanged |= renderer.setHierarchyCount(hierarchyCount);
+            if((flags & FLAG_LINE_COLOR) != 0) styleChanged |= renderer.setLineColor(lineColor);
+            if((flags & FLAG_LINE_WIDTH) != 0) styleChanged |= renderer.setLineWidth(lineWidth);
+            if((flags & FLAG_SCORE_COLOR) != 0) styleChanged |= renderer.setScoreColor(scoreColor);
+            if((flags & FLAG_SCORE_STROKE_COLOR) != 0) styleChanged |= renderer.setScoreStrokeColor(scoreStrokeColor);
+            if((flags & FLAG_SCORE_STROKE_WIDTH) != 0) styleChanged |= renderer.setScoreStrokeWidth(scoreStrokeWidth);
+            if((flags & FLAG_DISABLE_SCORE_STROKE) != 0) styleChanged |= renderer.setDisableScoreStroke(disableScoreStroke);
+            if((flags & FLAG_LABELS) != 0) styleChanged |= renderer.setLabels(labels);
+            if((flags & FLAG_LABEL_ICONS) != 0) styleChanged |= renderer.setLabelIcons(labelIcons);
+            if((flags & FLAG_LABEL_TEXT_SIZE) != 0) styleChanged |= renderer.setLabelTextSize(labelTextSize);
+            if((flags & FLAG_LABEL_TEXT_COLOR) != 0) styleChanged |= renderer.setLabelTextColor(labelTextColor);
+            if((flags & FLAG_LABEL_SPACING) != 0) styleChanged |= renderer.setLabelSpacing(labelSpacing);
+            if((flags & FLAG_LABEL_ICON_PADDING) != 0) styleChanged |= renderer.setLabelIconPadding(labelIconPadding);
+            boolean scoresChanged = (flags & FLAG_SCORES) != 0 && renderer.setScores(maxScore, scores, animate);
+            clear();
+
+            if(styleChanged){
+                postInvalidate();
+            }else if(scoresChanged){
+                invalidateScore();
+            }
+            return styleChanged || scoresChanged;
+        }
     }
 }
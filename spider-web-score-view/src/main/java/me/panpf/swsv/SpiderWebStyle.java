@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import android.graphics.Paint;
+
+/**
+ * 可以在多个蛛网评分图之间共享的不可变样式，所有使用同一个样式的SpiderWebRenderer（SpiderWebScoreView）共用同一组Paint，而不是每个都创建自己的
+ * <br>适合一屏有大量样式相同的图形的场景，例如仪表盘；共享之后再单独修改某个图形的样式时，那个图形会先拷贝一份自己的Paint，不会影响其它图形
+ */
+public final class SpiderWebStyle {
+    private final int lineColor; // 蛛网线条的颜色
+    private final float lineWidth; // 蛛网线条的宽度
+    private final int scoreColor; // 分数图形的颜色
+    private final int scoreStrokeColor; // 分数图形描边的颜色
+    private final float scoreStrokeWidth; // 分数图形描边的宽度
+    private final boolean disableScoreStroke; // 禁用分数图形的描边
+
+    private final Paint linePaint;
+    private final Paint scorePaint;
+    private final Paint scoreStrokePaint;
+
+    private SpiderWebStyle(Builder builder) {
+        this.lineColor = builder.lineColor;
+        this.lineWidth = builder.lineWidth;
+        this.scoreColor = builder.scoreColor;
+        this.scoreStrokeColor = builder.scoreStrokeColor;
+        this.scoreStrokeWidth = builder.scoreStrokeWidth;
+        this.disableScoreStroke = builder.disableScoreStroke;
+
+        linePaint = new Paint();
+        linePaint.setColor(lineColor);
+        linePaint.setStyle(Paint.Style.STROKE);
+        linePaint.setAntiAlias(true);
+        if(lineWidth > 0){
+            linePaint.setStrokeWidth(lineWidth);
+        }
+
+        scorePaint = new Paint();
+        scorePaint.setColor(scoreColor);
+        scorePaint.setStyle(Paint.Style.FILL_AND_STROKE);
+        scorePaint.setAntiAlias(true);
+
+        scoreStrokePaint = new Paint();
+        scoreStrokePaint.setColor(scoreStrokeColor);
+        scoreStrokePaint.setStyle(Paint.Style.STROKE);
+        scoreStrokePaint.setAntiAlias(true);
+        if(scoreStrokeWidth > 0){
+            scoreStrokePaint.setStrokeWidth(scoreStrokeWidth);
+        }
+    }
+
+    public int getLineColor() {
+        return lineColor;
+    }
+
+    public float getLineWidth() {
+        return lineWidth;
+    }
+
+    public int getScoreColor() {
+        return scoreColor;
+    }
+
+    public int getScoreStrokeColor() {
+        return scoreStrokeColor;
+    }
+
+    public float getScoreStrokeWidth() {
+        return scoreStrokeWidth;
+    }
+
+    public boolean isDisableScoreStroke() {
+        return disableScoreStroke;
+    }
+
+    /**
+     * 共享的画笔，调用方不能修改
+     */
+    Paint getLinePaint() {
+        return linePaint;
+    }
+
+    Paint getScorePaint() {
+        return scorePaint;
+    }
+
+    Paint getScoreStrokePaint() {
+        return scoreStrokePaint;
+    }
+
+    /**
+     * 基于当前样式创建一个Builder，用于修改部分属性
+     */
+    public Builder newBuilder() {
+        return new Builder(this);
+    }
+
+    public static class Builder {
+        private int lineColor = 0xFF000000;
+        private float lineWidth = -1;
+        private int scoreColor = 0x80F65801;
+        private int scoreStrokeColor = 0xFFF65801;
+        private float scoreStrokeWidth = -1;
+        private boolean disableScoreStroke;
+
+        public Builder() {
+        }
+
+        private Builder(SpiderWebStyle style) {
+            this.lineColor = style.lineColor;
+            this.lineWidth = style.lineWidth;
+            this.scoreColor = style.scoreColor;
+            this.scoreStrokeColor = style.scoreStrokeColor;
+            this.scoreStrokeWidth = style.scoreStrokeWidth;
+            this.disableScoreStroke = style.disableScoreStroke;
+        }
+
+        public Builder setLineColor(int lineColor) {
+            this.lineColor = lineColor;
+            return this;
+        }
+
+        public Builder setLineWidth(float lineWidth) {
+            this.lineWidth = lineWidth;
+            return this;
+        }
+
+        public Builder setScoreColor(int scoreColor) {
+            this.scoreColor = scoreColor;
+            return this;
+        }
+
+        public Builder setScoreStrokeColor(int scoreStrokeColor) {
+            this.scoreStrokeColor = scoreStrokeColor;
+            return this;
+        }
+
+        public Builder setScoreStrokeWidth(float scoreStrokeWidth) {
+            this.scoreStrokeWidth = scoreStrokeWidth;
+            return this;
+        }
+
+        public Builder setDisableScoreStroke(boolean disableScoreStroke) {
+            this.disableScoreStroke = disableScoreStroke;
+            return this;
+        }
+
+        public SpiderWebStyle build() {
+            return new SpiderWebStyle(this);
+        }
+    }
+}
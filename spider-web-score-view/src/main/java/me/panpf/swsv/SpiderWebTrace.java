@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * 绘制和布局的系统跟踪开关，开启后SpiderWebRenderer的每个绘制阶段以及CircularLayout的onMeasure、onLayout都会包在android.os.Trace的区段中，可以在Perfetto/Systrace中看到
+ * <br>默认关闭，关闭时只有一次静态字段的判断；Android 4.3以下不支持Trace，开启了也不会有任何效果
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+public final class SpiderWebTrace {
+    private static volatile boolean enabled;
+
+    private SpiderWebTrace() {
+    }
+
+    /**
+     * 设置是否开启系统跟踪
+     * @param enabled 是否开启
+     */
+    public static void setEnabled(boolean enabled) {
+        SpiderWebTrace.enabled = enabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 开始一个区段，必须和endSection()成对的在同一个线程中调用
+     * <br>调用方要在开始时读取一次isEnabled()并据此决定是否调用这两个方法，避免中途切换开关导致区段不成对
+     * @param sectionName 区段的名字
+     */
+    static void beginSection(String sectionName) {
+        Trace.beginSection(sectionName);
+    }
+
+    /**
+     * 结束当前线程最近开始的一个区段
+     */
+    static void endSection() {
+        Trace.endSection();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 渲染回归测试：把SpiderWebScoreView和CircularLayout真正绘制到Bitmap上，逐像素和src/test/golden中的PNG对比
+ * <br>抗锯齿的边缘在不同平台上会有细微差别，因此每个通道允许有CHANNEL_TOLERANCE的误差，并且允许极少量的像素超出误差
+ * <br>有意修改了绘制结果时通过 ./gradlew :spider-web-score-view:testDebugUnitTest -Pgolden.update 重新生成黄金图片
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class RenderGoldenTest {
+    private static final int CHANNEL_TOLERANCE = 16;
+    private static final float MAX_MISMATCH_RATIO = 0.005f;
+
+    private static final int[][] VIEW_CONFIGURATIONS = {
+            // angleCount, hierarchyCount, size
+            {3, 1, 48},
+            {5, 5, 200},
+            {6, 5, 200},
+            {12, 10, 200},
+            {100, 5, 200},
+    };
+
+    @Test
+    public void testSpiderWebScoreView() throws IOException {
+        Context context = RuntimeEnvironment.getApplication();
+        for (int[] configuration : VIEW_CONFIGURATIONS) {
+            int angleCount = configuration[0];
+            int hierarchyCount = configuration[1];
+            int size = configuration[2];
+
+            SpiderWebScoreView view = new SpiderWebScoreView(context);
+            view.setHierarchyCount(hierarchyCount);
+            view.setLineWidth(1f);
+            view.setScoreStrokeWidth(2f);
+            float[] scores = new float[angleCount];
+            for (int w = 0; w < angleCount; w++) {
+                scores[w] = (w * 7) % 10 + 1;
+            }
+            view.setScores(10f, scores);
+
+            assertGolden("spider_web_" + angleCount + "x" + hierarchyCount + "@" + size, render(view, size, size, 0));
+        }
+    }
+
+    @Test
+    public void testSpiderWebScoreViewWithHighlight() throws IOException {
+        SpiderWebScoreView view = new SpiderWebScoreView(RuntimeEnvironment.getApplication());
+        view.setScores(10f, new float[]{7, 8, 5, 5, 8});
+        view.setSelectedAxis(1);
+
+        assertGolden("spider_web_highlight", render(view, 200, 200, 0));
+    }
+
+    @Test
+    public void testCircularLayout() throws IOException {
+        Context context = RuntimeEnvironment.getApplication();
+        int[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.MAGENTA, Color.CYAN, Color.YELLOW, Color.BLACK};
+        CircularLayout layout = new CircularLayout(context);
+        layout.setSpacing(4);
+        // 子View都摆放在圆圈外面，会超出CircularLayout的范围
+        layout.setClipChildren(false);
+        for (int w = 0; w < colors.length; w++) {
+            View childView = new View(context);
+            childView.setBackgroundColor(colors[w]);
+            // 宽高不一样，检查子View是否按照方位偏移到了圆圈外面
+            layout.addView(childView, new ViewGroup.LayoutParams(12 + w * 4, 24 - w * 2));
+        }
+
+        assertGolden("circular_layout", render(layout, 200, 200, 48));
+    }
+
+    /**
+     * 按指定的尺寸测量、布局并绘制到白色背景的Bitmap上
+     * @param margin Bitmap四周留出的空白，用来容纳超出View范围的内容
+     */
+    private static Bitmap render(View view, int width, int height, int margin) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, width, height);
+        Bitmap bitmap = Bitmap.createBitmap(width + margin * 2, height + margin * 2, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(Color.WHITE);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.translate(margin, margin);
+        view.draw(canvas);
+        return bitmap;
+    }
+
+    private static void assertGolden(String name, Bitmap actual) throws IOException {
+        File goldenFile = new File(System.getProperty("golden.dir", "src/test/golden"), name + ".png");
+        if (Boolean.getBoolean("golden.update")) {
+            writePng(actual, goldenFile);
+            return;
+        }
+        if (!goldenFile.exists()) {
+            fail("Missing golden " + goldenFile.getPath() + ", run with -Pgolden.update to create it");
+        }
+
+        Bitmap expected;
+        InputStream inputStream = new FileInputStream(goldenFile);
+        try {
+            expected = BitmapFactory.decodeStream(inputStream);
+        } finally {
+            inputStream.close();
+        }
+        assertNotNull(goldenFile.getPath(), expected);
+        if (expected.getWidth() != actual.getWidth() || expected.getHeight() != actual.getHeight()) {
+            failWithActual(name, actual, "size " + actual.getWidth() + "x" + actual.getHeight()
+                    + " differs from golden " + expected.getWidth() + "x" + expected.getHeight());
+        }
+
+        int width = actual.getWidth();
+        int height = actual.getHeight();
+        int[] expectedPixels = new int[width * height];
+        int[] actualPixels = new int[width * height];
+        expected.getPixels(expectedPixels, 0, width, 0, 0, width, height);
+        actual.getPixels(actualPixels, 0, width, 0, 0, width, height);
+        int mismatchCount = 0;
+        int maxDifference = 0;
+        for (int w = 0; w < actualPixels.length; w++) {
+            int difference = channelDifference(expectedPixels[w], actualPixels[w]);
+            maxDifference = Math.max(maxDifference, difference);
+            if (difference > CHANNEL_TOLERANCE) {
+                mismatchCount++;
+            }
+        }
+        if (mismatchCount > actualPixels.length * MAX_MISMATCH_RATIO) {
+            failWithActual(name, actual, mismatchCount + " of " + actualPixels.length
+                    + " pixels differ by more than " + CHANNEL_TOLERANCE + " (max " + maxDifference + ")");
+        }
+    }
+
+    /**
+     * 计算两个像素在ARGB四个通道上的最大差值
+     */
+    private static int channelDifference(int expected, int actual) {
+        int difference = 0;
+        for (int shift = 0; shift <= 24; shift += 8) {
+            difference = Math.max(difference, Math.abs(((expected >>> shift) & 0xFF) - ((actual >>> shift) & 0xFF)));
+        }
+        return difference;
+    }
+
+    /**
+     * 把实际的渲染结果写到报告目录中方便对比，然后让测试失败
+     */
+    private static void failWithActual(String name, Bitmap actual, String message) throws IOException {
+        File actualFile = new File(System.getProperty("golden.reportDir", "build/reports/golden"), name + ".png");
+        writePng(actual, actualFile);
+        fail(name + ": " + message + ", actual image written to " + actualFile.getPath());
+    }
+
+    private static void writePng(Bitmap bitmap, File file) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Can't create dir " + dir);
+        }
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            assertTrue(bitmap.compress(Bitmap.CompressFormat.PNG, 100, outputStream));
+        } finally {
+            outputStream.close();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2016 Peng fei Pan <sky@panpf.me>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.panpf.swsv;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class SpiderWebGridViewTest {
+    private static final int CHANNEL_TOLERANCE = 16;
+    private static final float MAX_MISMATCH_RATIO = 0.005f;
+
+    @Test
+    public void testCellsMatchStandaloneRendererWithLevelOfDetail() {
+        // 角足够多，格子里的半径下一定会抽稀
+        int scoreCount = 500;
+        int cellSize = 100;
+        float maxScore = 10f;
+        float[] scores = new float[scoreCount * 2];
+        for (int w = 0; w < scoreCount; w++) {
+            scores[w] = (w * 7) % 10 + 1;
+            scores[scoreCount + w] = w % 2 == 0 ? 10 : 2;
+        }
+
+        SpiderWebGridView view = new SpiderWebGridView(RuntimeEnvironment.getApplication());
+        view.setColumnCount(2);
+        view.setCellSpacing(0);
+        view.getRenderer().setLevelOfDetailEnabled(true);
+        view.setScores(maxScore, scores, scoreCount, 2);
+        view.measure(View.MeasureSpec.makeMeasureSpec(cellSize * 2, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(cellSize, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, cellSize * 2, cellSize);
+        Bitmap gridBitmap = createBitmap(cellSize * 2, cellSize);
+        view.draw(new Canvas(gridBitmap));
+
+        for (int index = 0; index < 2; index++) {
+            float[] cellScores = new float[scoreCount];
+            System.arraycopy(scores, index * scoreCount, cellScores, 0, scoreCount);
+            SpiderWebRenderer renderer = new SpiderWebRenderer();
+            renderer.setLevelOfDetailEnabled(true);
+            renderer.setSize(cellSize, cellSize);
+            renderer.setScores(maxScore, cellScores, false);
+            Bitmap expected = createBitmap(cellSize, cellSize);
+            renderer.draw(new Canvas(expected));
+
+            Bitmap actual = Bitmap.createBitmap(gridBitmap, index * cellSize, 0, cellSize, cellSize);
+            assertSimilar("cell " + index, expected, actual);
+        }
+    }
+
+    @Test
+    public void testMeasuredHeightIsBounded() {
+        SpiderWebGridView view = new SpiderWebGridView(RuntimeEnvironment.getApplication());
+        view.setColumnCount(2);
+        view.setCellSpacing(0);
+        int chartCount = 1000;
+        view.setScores(10f, new float[5 * chartCount], 5, chartCount);
+        int widthMeasureSpec = View.MeasureSpec.makeMeasureSpec(200, View.MeasureSpec.EXACTLY);
+
+        // 内容比限制的高度少时和内容一样高
+        SpiderWebGridView smallView = new SpiderWebGridView(RuntimeEnvironment.getApplication());
+        smallView.setColumnCount(2);
+        smallView.setCellSpacing(0);
+        smallView.setScores(10f, new float[5 * 3], 5, 3);
+        smallView.measure(widthMeasureSpec, View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.AT_MOST));
+        assertEquals(200, smallView.getMeasuredHeight());
+
+        view.measure(widthMeasureSpec, View.MeasureSpec.makeMeasureSpec(300, View.MeasureSpec.AT_MOST));
+        assertEquals(300, view.getMeasuredHeight());
+
+        // 高度不受限制时最多一屏高，不会和500行一样高
+        view.measure(widthMeasureSpec, View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        int screenHeight = RuntimeEnvironment.getApplication().getResources().getDisplayMetrics().heightPixels;
+        assertEquals(Math.min(screenHeight, 100 * 500), view.getMeasuredHeight());
+    }
+
+    private static Bitmap createBitmap(int width, int height) {
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(Color.WHITE);
+        return bitmap;
+    }
+
+    private static void assertSimilar(String message, Bitmap expected, Bitmap actual) {
+        int width = expected.getWidth();
+        int height = expected.getHeight();
+        int[] expectedPixels = new int[width * height];
+        int[] actualPixels = new int[width * height];
+        expected.getPixels(expectedPixels, 0, width, 0, 0, width, height);
+        actual.getPixels(actualPixels, 0, width, 0, 0, width, height);
+        int mismatchCount = 0;
+        for (int w = 0; w < expectedPixels.length; w++) {
+            for (int shift = 0; shift <= 24; shift += 8) {
+                if (Math.abs(((expectedPixels[w] >>> shift) & 0xFF) - ((actualPixels[w] >>> shift) & 0xFF)) > CHANNEL_TOLERANCE) {
+                    mismatchCount++;
+                    break;
+                }
+            }
+        }
+        assertTrue(message + ": " + mismatchCount + " pixels differ", mismatchCount <= expectedPixels.length * MAX_MISMATCH_RATIO);
+    }
+}